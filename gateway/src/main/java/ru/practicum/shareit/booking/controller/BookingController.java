@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -11,11 +12,13 @@ import ru.practicum.shareit.booking.client.BookingClient;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 @Slf4j
@@ -35,6 +38,17 @@ public class BookingController {
 		return bookingClient.getBookings(userId, state, from, size);
 	}
 
+	@GetMapping(params = "cursor")
+	public ResponseEntity<Object> getBookingsAfterCursor(@RequestHeader(HEADER) long userId,
+			@RequestParam(name = "state", defaultValue = "all") String stateParam,
+			@RequestParam(name = "cursor", defaultValue = "") String cursor,
+			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+		BookingState state = BookingState.from(stateParam)
+				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+		log.info("Get booking with state {}, userId={}, cursor={}, size={}", stateParam, userId, cursor, size);
+		return bookingClient.getBookingsAfterCursor(userId, state, cursor, size);
+	}
+
 	@GetMapping("/owner")
 	public ResponseEntity<Object> getOwnerBookings(@RequestHeader(HEADER) long userId,
 										@RequestParam(name = "state", defaultValue = "all") String stateParam,
@@ -46,6 +60,24 @@ public class BookingController {
 		return bookingClient.getOwnerBookings(userId, state, from, size);
 	}
 
+	@GetMapping(path = "/owner", params = "cursor")
+	public ResponseEntity<Object> getOwnerBookingsAfterCursor(@RequestHeader(HEADER) long userId,
+			@RequestParam(name = "state", defaultValue = "all") String stateParam,
+			@RequestParam(name = "cursor", defaultValue = "") String cursor,
+			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+		BookingState state = BookingState.from(stateParam)
+				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+		log.info("Get owners booking with state {}, userId={}, cursor={}, size={}", stateParam, userId, cursor,
+				size);
+		return bookingClient.getOwnerBookingsAfterCursor(userId, state, cursor, size);
+	}
+
+	@GetMapping("/owner/export")
+	public void exportOwnerBookings(@RequestHeader(HEADER) long userId, HttpServletResponse response) {
+		log.info("Export owners bookings, userId={}", userId);
+		bookingClient.exportOwnerBookings(userId, response);
+	}
+
 	@PostMapping
 	public ResponseEntity<Object> bookItem(@RequestHeader(HEADER) long userId,
 			@RequestBody @Valid BookItemRequestDto requestDto) {
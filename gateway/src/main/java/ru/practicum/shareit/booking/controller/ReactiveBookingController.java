@@ -0,0 +1,105 @@
+package ru.practicum.shareit.booking.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.client.ReactiveBookingClient;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveBookingController {
+	private final ReactiveBookingClient bookingClient;
+	private static final String HEADER = "X-Sharer-User-Id";
+
+	@GetMapping
+	public Mono<ResponseEntity<Object>> getBookings(@RequestHeader(HEADER) long userId,
+			@RequestParam(name = "state", defaultValue = "all") String stateParam,
+			@PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+		BookingState state = BookingState.from(stateParam)
+				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+		log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
+		return bookingClient.getBookings(userId, state, from, size);
+	}
+
+	@GetMapping(params = "cursor")
+	public Mono<ResponseEntity<Object>> getBookingsAfterCursor(@RequestHeader(HEADER) long userId,
+			@RequestParam(name = "state", defaultValue = "all") String stateParam,
+			@RequestParam(name = "cursor", defaultValue = "") String cursor,
+			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+		BookingState state = BookingState.from(stateParam)
+				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+		log.info("Get booking with state {}, userId={}, cursor={}, size={}", stateParam, userId, cursor, size);
+		return bookingClient.getBookingsAfterCursor(userId, state, cursor, size);
+	}
+
+	@GetMapping("/owner")
+	public Mono<ResponseEntity<Object>> getOwnerBookings(@RequestHeader(HEADER) long userId,
+										@RequestParam(name = "state", defaultValue = "all") String stateParam,
+										@PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+										@Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+		BookingState state = BookingState.from(stateParam)
+				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+		log.info("Get owners booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
+		return bookingClient.getOwnerBookings(userId, state, from, size);
+	}
+
+	@GetMapping(path = "/owner", params = "cursor")
+	public Mono<ResponseEntity<Object>> getOwnerBookingsAfterCursor(@RequestHeader(HEADER) long userId,
+			@RequestParam(name = "state", defaultValue = "all") String stateParam,
+			@RequestParam(name = "cursor", defaultValue = "") String cursor,
+			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+		BookingState state = BookingState.from(stateParam)
+				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+		log.info("Get owners booking with state {}, userId={}, cursor={}, size={}", stateParam, userId, cursor,
+				size);
+		return bookingClient.getOwnerBookingsAfterCursor(userId, state, cursor, size);
+	}
+
+	@GetMapping("/owner/export")
+	public Mono<ResponseEntity<Flux<DataBuffer>>> exportOwnerBookings(@RequestHeader(HEADER) long userId) {
+		log.info("Export owners bookings, userId={}", userId);
+		return bookingClient.exportOwnerBookings(userId);
+	}
+
+	@PostMapping
+	public Mono<ResponseEntity<Object>> bookItem(@RequestHeader(HEADER) long userId,
+			@RequestBody @Valid BookItemRequestDto requestDto) {
+		log.info("Creating booking {}, userId={}", requestDto, userId);
+		return bookingClient.bookItem(userId, requestDto);
+	}
+
+	@PatchMapping("/{bookingId}")
+	public Mono<ResponseEntity<Object>> approveBooking(@RequestHeader(HEADER) long userId,
+												 @PathVariable long bookingId,
+												 @RequestParam(name = "approved") boolean approved) {
+		log.info("Approve bookingId={}, userId={}, approved={}", bookingId, userId, approved);
+		return bookingClient.approveBooking(bookingId, userId, approved);
+	}
+
+	@GetMapping("/{bookingId}")
+	public Mono<ResponseEntity<Object>> getBooking(@RequestHeader(HEADER) long userId,
+			@PathVariable long bookingId) {
+		log.info("Get booking {}, userId={}", bookingId, userId);
+		return bookingClient.getBooking(userId, bookingId);
+	}
+
+}
\ No newline at end of file
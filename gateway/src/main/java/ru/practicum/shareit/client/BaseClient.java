@@ -1,22 +1,44 @@
 package ru.practicum.shareit.client;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
 public class BaseClient {
     protected final RestTemplate rest;
 
+    @Nullable
+    private final ResponseCache responseCache;
+
+    @Nullable
+    private final RequestCoalescer coalescer;
+
     public BaseClient(RestTemplate rest) {
+        this(rest, null, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable ResponseCache responseCache) {
+        this(rest, responseCache, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable ResponseCache responseCache, @Nullable RequestCoalescer coalescer) {
         this.rest = rest;
+        this.responseCache = responseCache;
+        this.coalescer = coalescer;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -31,6 +53,47 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    /**
+     * GET, ответ на который сохраняется вместе с ETag. Повторный запрос того же пользователя уходит на сервер
+     * с If-None-Match, и при ответе 304 клиент получает сохраненное тело.
+     */
+    protected ResponseEntity<Object> getCached(String path, long userId) {
+        if ((responseCache == null) || (!responseCache.isEnabled())) {
+            return get(path, userId);
+        }
+        String key = userId + " " + rest.getUriTemplateHandler().expand(path);
+        ResponseCache.CachedResponse cached = responseCache.get(key);
+        HttpHeaders headers = defaultHeaders(userId);
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.getEtag());
+        }
+
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            shareitServerResponse = rest.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+        } catch (HttpStatusCodeException e) {
+            responseCache.evict(key);
+            return prepareGatewayResponse(e);
+        }
+        if ((cached != null) && (shareitServerResponse.getStatusCode() == HttpStatus.NOT_MODIFIED)) {
+            return responseCache.notModified(cached);
+        }
+        responseCache.update(key, cached, shareitServerResponse);
+        return prepareGatewayResponse(shareitServerResponse);
+    }
+
+    /**
+     * Как getCached, но одновременные запросы одного ресурса пользователями, которым он виден одинаково,
+     * уходят на сервер одним запросом.
+     */
+    protected ResponseEntity<Object> getCoalesced(String path, long userId) {
+        if (coalescer == null) {
+            return getCached(path, userId);
+        }
+        return coalescer.execute(rest.getUriTemplateHandler().expand(path).toString(), userId,
+                () -> getCached(path, userId));
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -79,18 +142,53 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    /**
+     * Копирует тело ответа сервера в ответ шлюза по мере получения, не собирая его в памяти.
+     */
+    protected void stream(String path, long userId, HttpServletResponse response) {
+        try {
+            rest.execute(path, HttpMethod.GET,
+                    request -> request.getHeaders().addAll(streamHeaders(userId)),
+                    shareitServerResponse -> {
+                        response.setStatus(shareitServerResponse.getRawStatusCode());
+                        copyHeaders(shareitServerResponse.getHeaders(), response);
+                        StreamUtils.copy(shareitServerResponse.getBody(), response.getOutputStream());
+                        return null;
+                    });
+        } catch (HttpStatusCodeException e) {
+            response.setStatus(e.getRawStatusCode());
+            copyHeaders(e.getResponseHeaders(), response);
+            try {
+                response.getOutputStream().write(e.getResponseBodyAsByteArray());
+            } catch (IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+        }
+    }
+
+    /**
+     * Передает клиенту те же заголовки ответа сервера, что и остальные запросы через шлюз.
+     */
+    private static void copyHeaders(@Nullable HttpHeaders serverHeaders, HttpServletResponse response) {
+        ProxyHeaders.copyOf(serverHeaders).forEach((name, values) -> values.forEach(value ->
+                response.addHeader(name, value)));
+    }
+
+    /**
+     * Тело ответа сервера передается клиенту байтами, без разбора JSON и повторной сериализации.
+     */
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return prepareGatewayResponse(e);
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
@@ -105,12 +203,16 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
+    private HttpHeaders streamHeaders(long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+        headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        return headers;
+    }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode())
+                .headers(ProxyHeaders.copyOf(response.getHeaders()));
 
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
@@ -119,4 +221,10 @@ public class BaseClient {
         return responseBuilder.build();
     }
 
+    private static ResponseEntity<Object> prepareGatewayResponse(HttpStatusCodeException e) {
+        return ResponseEntity.status(e.getStatusCode())
+                .headers(ProxyHeaders.copyOf(e.getResponseHeaders()))
+                .body(e.getResponseBodyAsByteArray());
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.okhttp3.OkHttpConnectionPoolMetrics;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.OkHttp3ClientHttpRequestFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Соединения шлюза с сервером по h2c: OkHttp открывает новое соединение, только когда в текущих
+ * кончились потоки HTTP/2, поэтому тысячи одновременных запросов идут через несколько сокетов.
+ * Включается shareit-server.http-client.protocol=h2c. Метрики пула публикуются как okhttp.pool.*.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "shareit-server.http-client.protocol", havingValue = "h2c")
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class Http2ClientConfig {
+
+    private static final String POOL_NAME = "shareit-server";
+
+    @Bean
+    public ConnectionPool shareItServerConnectionPool(HttpClientProperties properties) {
+        return new ConnectionPool(properties.getMaxTotal(), properties.getMaxIdleTime().toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Bean
+    public OkHttpClient shareItServerOkHttpClient(ConnectionPool connectionPool, HttpClientProperties properties) {
+        return new OkHttpClient.Builder()
+                .protocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE))
+                .connectionPool(connectionPool)
+                .connectTimeout(properties.getConnectTimeout())
+                .readTimeout(properties.getReadTimeout())
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory shareItServerRequestFactory(OkHttpClient shareItServerOkHttpClient) {
+        return new OkHttp3ClientHttpRequestFactory(shareItServerOkHttpClient);
+    }
+
+    @Bean
+    public MeterBinder shareItServerPoolMetrics(ConnectionPool connectionPool) {
+        return new OkHttpConnectionPoolMetrics(connectionPool, Tags.of("httpclient", POOL_NAME));
+    }
+
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки общего пула соединений шлюза с сервером.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http-client")
+public class HttpClientProperties {
+
+    /**
+     * Протокол соединений с сервером.
+     */
+    private ServerProtocol protocol = ServerProtocol.HTTP1;
+
+    /**
+     * Максимальное число соединений в пуле.
+     */
+    private int maxTotal = 200;
+
+    /**
+     * Максимальное число соединений с одним сервером.
+     */
+    private int maxPerRoute = 200;
+
+    /**
+     * Время установки TCP соединения.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Время ожидания свободного соединения из пула.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Время ожидания данных от сервера.
+     */
+    private Duration readTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Сколько держать открытым соединение, если сервер не прислал заголовок Keep-Alive.
+     */
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    /**
+     * Простаивающие дольше соединения закрываются фоновым потоком.
+     */
+    private Duration maxIdleTime = Duration.ofSeconds(60);
+
+    /**
+     * Соединение, простоявшее дольше, проверяется перед повторным использованием.
+     */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+}
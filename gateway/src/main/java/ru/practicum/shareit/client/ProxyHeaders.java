@@ -0,0 +1,41 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+
+import java.util.Locale;
+import java.util.Set;
+
+public class ProxyHeaders {
+
+    /**
+     * Заголовки одного HTTP соединения и длина тела: их выставляет сам шлюз при отправке ответа.
+     */
+    private static final Set<String> NOT_FORWARDED = Set.of(
+            "connection",
+            "keep-alive",
+            "transfer-encoding",
+            "te",
+            "trailer",
+            "upgrade",
+            "proxy-authenticate",
+            "proxy-authorization",
+            "content-length"
+    );
+
+    /**
+     * Заголовки ответа сервера, которые шлюз передает клиенту вместе с телом.
+     */
+    public static HttpHeaders copyOf(@Nullable HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders != null) {
+            serverHeaders.forEach((name, values) -> {
+                if (!NOT_FORWARDED.contains(name.toLowerCase(Locale.ROOT))) {
+                    headers.addAll(name, values);
+                }
+            });
+        }
+        return headers;
+    }
+
+}
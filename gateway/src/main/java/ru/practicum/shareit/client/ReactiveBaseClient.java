@@ -0,0 +1,143 @@
+package ru.practicum.shareit.client;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Неблокирующий аналог {@link BaseClient}: те же запросы к серверу и те же ответы шлюза,
+ * но результат возвращается как Mono и поток не ждет ответа сервера.
+ */
+public class ReactiveBaseClient {
+    protected final WebClient webClient;
+
+    public ReactiveBaseClient(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path) {
+        return get(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
+        return get(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
+        return post(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
+        return post(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, T body) {
+        return put(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
+        return patch(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId) {
+        return patch(path, userId, null, null);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
+        return patch(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path) {
+        return delete(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
+        return delete(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+    }
+
+    /**
+     * Передает тело ответа сервера в ответ шлюза по мере получения, не собирая его в памяти.
+     */
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> stream(String path, long userId) {
+        return webClient.get()
+                .uri(path)
+                .headers(headers -> headers.addAll(streamHeaders(userId)))
+                .retrieve()
+                .onStatus(HttpStatus::isError, shareitServerResponse -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .map(shareitServerResponse -> ResponseEntity.status(shareitServerResponse.getStatusCode())
+                        .headers(ProxyHeaders.copyOf(shareitServerResponse.getHeaders()))
+                        .body(shareitServerResponse.getBody()));
+    }
+
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(defaultHeaders(userId)));
+
+        WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+        return requestWithBody.exchangeToMono(ReactiveBaseClient::prepareGatewayResponse);
+    }
+
+    private HttpHeaders defaultHeaders(Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        return headers;
+    }
+
+    private HttpHeaders streamHeaders(long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+        headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        return headers;
+    }
+
+    /**
+     * Тело ответа сервера передается клиенту байтами, без разбора JSON и повторной сериализации.
+     */
+    private static Mono<ResponseEntity<Object>> prepareGatewayResponse(ClientResponse response) {
+        HttpHeaders headers = ProxyHeaders.copyOf(response.headers().asHttpHeaders());
+        headers.remove(RequestCoalescer.OWNER_HEADER);
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.rawStatusCode())
+                .headers(headers);
+        return response.bodyToMono(byte[].class)
+                .map(responseBuilder::<Object>body)
+                .defaultIfEmpty(responseBuilder.build());
+    }
+
+}
@@ -0,0 +1,177 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Объединяет одновременные одинаковые GET к серверу: первый запрос уходит на сервер,
+ * остальные с тем же ключом ждут его и получают тот же ответ.
+ * Ответ зависит от того, владелец ли пользователь, поэтому ключ содержит класс зрителя:
+ * владельца ресурса сервер сообщает в заголовке X-Sharer-Owner-Id, шлюз запоминает его и не передает клиенту.
+ * Пользователь присоединяется к чужому запросу, только если сервер уже отвечал ему успешно:
+ * для неизвестного пользователя сервер должен сам вернуть 404. Ожидающие получают только успешный ответ,
+ * после ошибки лидера каждый из них отправляет свой запрос.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RequestCoalescer {
+
+    public static final String OWNER_HEADER = "X-Sharer-Owner-Id";
+
+    private final boolean enabled;
+
+    private final long windowNanos;
+
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+
+    private final Cache<String, Long> owners;
+
+    private final Cache<Long, Boolean> knownUsers;
+
+    private final Counter leaders;
+
+    private final Counter followers;
+
+    private final Counter bypassed;
+
+    public RequestCoalescer(@Value("${shareit-server.coalescing.enabled:true}") boolean enabled,
+                            @Value("${shareit-server.coalescing.window:0ms}") Duration window,
+                            @Value("${shareit-server.coalescing.maximum-size:100000}") long maximumSize,
+                            @Value("${shareit-server.coalescing.time-to-live:10m}") Duration timeToLive,
+                            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+        this.owners = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+        this.knownUsers = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .build();
+        this.leaders = requestCounter(meterRegistry, "leader");
+        this.followers = requestCounter(meterRegistry, "follower");
+        this.bypassed = requestCounter(meterRegistry, "bypassed");
+        Gauge.builder("gateway.coalescing.flights", flights, Map::size)
+                .description("Запросы к серверу, которых сейчас ждут объединенные запросы")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Выполняет GET ресурса для пользователя, присоединяясь к такому же запросу другого пользователя, если это можно.
+     */
+    public ResponseEntity<Object> execute(String resource, long userId, Supplier<ResponseEntity<Object>> request) {
+        String key = flightKey(resource, userId);
+        if (key == null) {
+            bypassed.increment();
+            return learn(resource, userId, request.get());
+        }
+        Flight flight = new Flight();
+        Flight current = flights.compute(key, (k, existing) ->
+                (existing != null) && existing.isJoinable(windowNanos) ? existing : flight);
+        if (current != flight) {
+            ResponseEntity<Object> shared = current.await();
+            if (shared != null) {
+                followers.increment();
+                return shared;
+            }
+            bypassed.increment();
+            return learn(resource, userId, request.get());
+        }
+        leaders.increment();
+        ResponseEntity<Object> response = null;
+        try {
+            response = learn(resource, userId, request.get());
+            return response;
+        } finally {
+            flight.complete(response);
+            if (windowNanos == 0) {
+                flights.remove(key, flight);
+            } else {
+                CompletableFuture.delayedExecutor(windowNanos, TimeUnit.NANOSECONDS)
+                        .execute(() -> flights.remove(key, flight));
+            }
+        }
+    }
+
+    public void userRemoved(long userId) {
+        knownUsers.invalidate(userId);
+    }
+
+    private String flightKey(String resource, long userId) {
+        if ((!enabled) || (knownUsers.getIfPresent(userId) == null)) {
+            return null;
+        }
+        Long ownerId = owners.getIfPresent(resource);
+        if (ownerId == null) {
+            return null;
+        }
+        return ownerId == userId ? resource + " owner" : resource + " public";
+    }
+
+    /**
+     * Запоминает владельца ресурса и убирает служебный заголовок из ответа клиенту.
+     */
+    private ResponseEntity<Object> learn(String resource, long userId, ResponseEntity<Object> response) {
+        String ownerId = response.getHeaders().getFirst(OWNER_HEADER);
+        if (ownerId == null) {
+            return response;
+        }
+        if ((enabled) && (response.getStatusCode().is2xxSuccessful())) {
+            owners.put(resource, Long.valueOf(ownerId));
+            knownUsers.put(userId, Boolean.TRUE);
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(response.getHeaders());
+        headers.remove(OWNER_HEADER);
+        return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String role) {
+        return Counter.builder("gateway.coalescing.requests")
+                .description("GET к серверу: отправленные, объединенные с уже отправленным и выполненные без объединения")
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Запрос лидера. Делится только успешный ответ: ошибку мог вызвать сам лидер,
+     * поэтому при ошибке или исключении ожидающие повторяют запрос каждый от своего имени.
+     */
+    private static class Flight {
+
+        private final CompletableFuture<ResponseEntity<Object>> response = new CompletableFuture<>();
+
+        private volatile long completedAt;
+
+        boolean isJoinable(long windowNanos) {
+            return (!response.isDone())
+                    || ((response.join() != null) && (System.nanoTime() - completedAt < windowNanos));
+        }
+
+        void complete(ResponseEntity<Object> value) {
+            completedAt = System.nanoTime();
+            response.complete((value != null) && (value.getStatusCode().is2xxSuccessful()) ? value : null);
+        }
+
+        ResponseEntity<Object> await() {
+            return response.join();
+        }
+
+    }
+
+}
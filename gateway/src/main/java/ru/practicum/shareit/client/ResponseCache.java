@@ -0,0 +1,126 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Ответы сервера на GET по id вместе с их ETag. Шлюз не решает сам, устарел ли ответ:
+ * он отправляет серверу If-None-Match и отдает сохраненное тело, только если сервер ответил 304.
+ * Размер кэша ограничен суммарным объемом тел ответов.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ResponseCache {
+
+    private static final String CACHE_NAME = "gateway.response";
+
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private final boolean enabled;
+
+    private final Cache<String, CachedResponse> responses;
+
+    private final Counter notModified;
+
+    private final Counter modified;
+
+    private final Counter bytesSaved;
+
+    public ResponseCache(@Value("${shareit-server.response-cache.enabled:true}") boolean enabled,
+                         @Value("${shareit-server.response-cache.maximum-size:64MB}") DataSize maximumSize,
+                         @Value("${shareit-server.response-cache.time-to-idle:10m}") Duration timeToIdle,
+                         MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .<String, CachedResponse>weigher((key, response) -> response.getBody().length + ENTRY_OVERHEAD_BYTES)
+                .expireAfterAccess(timeToIdle)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, CACHE_NAME);
+        this.notModified = Counter.builder("gateway.response.cache.revalidations")
+                .description("Проверки сохраненного ответа на сервере")
+                .tag("result", "not_modified")
+                .register(meterRegistry);
+        this.modified = Counter.builder("gateway.response.cache.revalidations")
+                .description("Проверки сохраненного ответа на сервере")
+                .tag("result", "modified")
+                .register(meterRegistry);
+        this.bytesSaved = Counter.builder("gateway.response.cache.bytes.saved")
+                .description("Байты тел ответов, которые сервер не передал благодаря 304")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Nullable
+    public CachedResponse get(String key) {
+        return responses.getIfPresent(key);
+    }
+
+    /**
+     * Сервер подтвердил, что ответ не изменился: клиенту отдается сохраненный ответ 200.
+     */
+    public ResponseEntity<Object> notModified(CachedResponse cached) {
+        notModified.increment();
+        bytesSaved.increment(cached.getBody().length);
+        return ResponseEntity.status(HttpStatus.OK)
+                .headers(cached.getHeaders())
+                .body(cached.getBody());
+    }
+
+    /**
+     * Сохраняет ответ 200 с ETag, любой другой ответ удаляет прежнюю запись.
+     */
+    public void update(String key, @Nullable CachedResponse previous, ResponseEntity<byte[]> response) {
+        if (previous != null) {
+            modified.increment();
+        }
+        String etag = response.getHeaders().getETag();
+        if ((response.getStatusCode() == HttpStatus.OK) && (etag != null) && (response.getBody() != null)) {
+            responses.put(key, new CachedResponse(etag, ProxyHeaders.copyOf(response.getHeaders()),
+                    response.getBody()));
+        } else {
+            evict(key);
+        }
+    }
+
+    public void evict(String key) {
+        responses.invalidate(key);
+        log.debug("Ответ {} удален из кэша шлюза", key);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class CachedResponse {
+
+        private final String etag;
+
+        private final HttpHeaders headers;
+
+        private final byte[] body;
+
+    }
+
+}
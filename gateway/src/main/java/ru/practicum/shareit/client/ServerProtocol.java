@@ -0,0 +1,19 @@
+package ru.practicum.shareit.client;
+
+/**
+ * Протокол соединений шлюза с сервером.
+ */
+public enum ServerProtocol {
+
+    /**
+     * HTTP/1.1: на соединении одновременно выполняется один запрос.
+     */
+    HTTP1,
+
+    /**
+     * HTTP/2 без TLS с заранее известным протоколом: запросы мультиплексируются в нескольких соединениях.
+     * На сервере должно быть включено server.http2.enabled.
+     */
+    H2C
+
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки пула соединений Netty для реактивного режима шлюза.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.web-client")
+public class WebClientProperties {
+
+    /**
+     * Протокол соединений с сервером.
+     */
+    private ServerProtocol protocol = ServerProtocol.HTTP1;
+
+    /**
+     * Максимальное число соединений с сервером.
+     */
+    private int maxConnections = 1000;
+
+    /**
+     * Сколько запросов может ждать свободного соединения. -1 - без ограничения.
+     */
+    private int pendingAcquireMaxCount = 10_000;
+
+    /**
+     * Время ожидания свободного соединения из пула.
+     */
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Время установки TCP соединения.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Время ожидания ответа сервера.
+     */
+    private Duration responseTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Простаивающие дольше соединения закрываются.
+     */
+    private Duration maxIdleTime = Duration.ofSeconds(60);
+
+    /**
+     * Период фоновой проверки пула на простаивающие соединения.
+     */
+    private Duration evictInBackground = Duration.ofSeconds(30);
+
+}
@@ -1,10 +1,12 @@
 package ru.practicum.shareit.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import ru.practicum.shareit.limit.LimitExceededException;
 
 @RestControllerAdvice
 public class GatewayErrorHandler {
@@ -18,4 +20,11 @@ public class GatewayErrorHandler {
         return new ResponseEntity<>(errorResponse, status);
     }
 
+    @ExceptionHandler
+    public ResponseEntity<GatewayErrorResponse> handle(final LimitExceededException e) {
+        return ResponseEntity.status(e.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new GatewayErrorResponse(e.getMessage()));
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.item.client;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.item.dto.Comment;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/items";
+
+    @Autowired
+    public ReactiveItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                              ClientHttpConnector connector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> getUsersItems(long userId, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("?from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> createItem(long userId, ItemDto itemDto) {
+        return post("", userId, itemDto);
+    }
+
+    public Mono<ResponseEntity<Object>> createItems(long userId, List<ItemDto> itemDtos) {
+        return post("/batch", userId, itemDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> updateItem(long itemId, long userId, ItemDto itemDto) {
+        return patch("/" + itemId, userId, itemDto);
+    }
+
+    public Mono<ResponseEntity<Object>> getItem(long itemId, long userId) {
+        return get("/" + itemId, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> deleteItem(long userId, long itemId) {
+        return delete("/" + itemId, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getSearchedItem(long userId, String searchRequest, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "searchRequest", searchRequest,
+                "from", from,
+                "size", size
+        );
+        return get("/search?text={searchRequest}&from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> createComment(Comment comment, long itemId, long userId) {
+        return post("/" + itemId + "/comment", userId, comment);
+    }
+
+}
\ No newline at end of file
@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -13,10 +14,14 @@ import ru.practicum.shareit.item.dto.Comment;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(path = "/items")
 @RequiredArgsConstructor
 @Slf4j
@@ -27,6 +32,8 @@ public class ItemController {
 
     private static final String HEADER = "X-Sharer-User-Id";
 
+    private static final int MAX_BATCH_SIZE = 100_000;
+
     @GetMapping
     public ResponseEntity<Object> getUsersItems(@RequestHeader(HEADER) long userId,
                           @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
@@ -47,6 +54,13 @@ public class ItemController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> createItems(@RequestHeader(HEADER) long userId,
+                                              @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<ItemDto> itemDtos) {
+        log.info("Creating {} items, userId={}", itemDtos.size(), userId);
+        return itemClient.createItems(userId, itemDtos);
+    }
+
     @PatchMapping("/{itemId}")
     public ResponseEntity<Object> updateItem(@RequestHeader(HEADER) long userId,
                                              @PathVariable long itemId,
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.item.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.client.ReactiveItemClient;
+import ru.practicum.shareit.item.dto.Comment;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/items")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveItemController {
+
+    private final ReactiveItemClient itemClient;
+
+    private static final String HEADER = "X-Sharer-User-Id";
+
+    private static final int MAX_BATCH_SIZE = 100_000;
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getUsersItems(@RequestHeader(HEADER) long userId,
+                          @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                          @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        log.info("Get all users items userId={}, from={}, size={}", userId, from, size);
+        return itemClient.getUsersItems(userId, from, size);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> createItem(@RequestHeader(HEADER) long userId,
+                                                   @RequestBody @Valid ItemDto itemDto) {
+        log.info("Creating item {}, userId={}", itemDto, userId);
+        if ((itemDto.getName() != null) && (itemDto.getDescription() != null)) {
+            return itemClient.createItem(userId, itemDto);
+        } else {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Некорректный запрос. ItemName и ItemDescription не могут быть пустыми");
+        }
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createItems(@RequestHeader(HEADER) long userId,
+                                                    @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<ItemDto> itemDtos) {
+        log.info("Creating {} items, userId={}", itemDtos.size(), userId);
+        return itemClient.createItems(userId, itemDtos);
+    }
+
+    @PatchMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> updateItem(@RequestHeader(HEADER) long userId,
+                                                   @PathVariable long itemId,
+                                                   @RequestBody @Valid ItemDto itemDto) {
+        log.info("Update itemId={}  userId={}, itemDto={}", itemId, userId, itemDto);
+        return itemClient.updateItem(itemId, userId, itemDto);
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> getItem(@RequestHeader(HEADER) long userId,
+                                                @PathVariable long itemId) {
+        log.info("Get item itemId={}, userId={}", itemId, userId);
+        return itemClient.getItem(itemId, userId);
+    }
+
+    @DeleteMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> deleteItem(@RequestHeader(HEADER) long userId,
+                                                   @PathVariable long itemId) {
+        log.info("Delete item itemId={}, userId={}", itemId, userId);
+        return itemClient.deleteItem(userId, itemId);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Object>> getSearchedItem(@RequestHeader(HEADER) long userId,
+                        @RequestParam(name = "text") String searchRequest,
+                        @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                        @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        log.info("Get items searchRequest={}, from={}, size={}", searchRequest, from, size);
+        return itemClient.getSearchedItem(userId, searchRequest, from, size);
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public Mono<ResponseEntity<Object>> createComment(@RequestHeader(HEADER) long userId,
+                                                      @PathVariable long itemId,
+                                                      @RequestBody @Valid Comment comment) {
+        log.info("Creating comment {}, itemId={}, userId={}", comment, itemId, userId);
+        return itemClient.createComment(comment, itemId, userId);
+    }
+
+}
\ No newline at end of file
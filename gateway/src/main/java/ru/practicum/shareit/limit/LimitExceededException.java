@@ -0,0 +1,22 @@
+package ru.practicum.shareit.limit;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Запрос отклонен ограничением: 429 при превышении частоты, 503 при перегрузке шлюза.
+ */
+@Getter
+public class LimitExceededException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    private final long retryAfterSeconds;
+
+    public LimitExceededException(HttpStatus status, long retryAfterSeconds, String message) {
+        super(message);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+}
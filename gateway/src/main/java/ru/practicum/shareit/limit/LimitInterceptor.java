@@ -0,0 +1,49 @@
+package ru.practicum.shareit.limit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Проверяет ограничения до вызова контроллера. Отказ превращается в ответ в GatewayErrorHandler.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class LimitInterceptor implements HandlerInterceptor, WebMvcConfigurer {
+
+    private static final String HEADER = "X-Sharer-User-Id";
+
+    private static final String PERMIT_ATTRIBUTE = LimitInterceptor.class.getName() + ".permit";
+
+    private final RequestLimiter limiter;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        request.setAttribute(PERMIT_ATTRIBUTE, limiter.acquire(path, request.getHeader(HEADER),
+                request.getRemoteAddr()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object permit = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit instanceof RequestLimiter.Permit) {
+            ((RequestLimiter.Permit) permit).release();
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.limit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ограничения входящих запросов шлюза: частота запросов одного пользователя и число одновременных запросов.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.limits")
+public class LimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Запросов в секунду от одного пользователя к эндпоинтам без своих настроек.
+     */
+    private double requestsPerSecond = 50;
+
+    /**
+     * Сколько запросов пользователь может отправить подряд сверх средней частоты.
+     */
+    private int burst = 100;
+
+    /**
+     * Одновременных запросов ко всем эндпоинтам. Лишние сразу получают 503, а не ждут соединения с сервером.
+     */
+    private int maxConcurrentRequests = 200;
+
+    /**
+     * Состояние пользователя удаляется, если он не присылал запросов дольше.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * Максимальное число пользователей, состояние которых хранится одновременно.
+     */
+    private long maximumKeys = 100_000;
+
+    /**
+     * Настройки отдельных эндпоинтов по шаблону пути, например endpoints[/items/search].requests-per-second=10.
+     */
+    private Map<String, EndpointLimit> endpoints = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class EndpointLimit {
+
+        /**
+         * Если не задано, действует общее значение.
+         */
+        private Double requestsPerSecond;
+
+        private Integer burst;
+
+        /**
+         * Одновременных запросов к эндпоинту, если не задано - только общее ограничение.
+         */
+        private Integer maxConcurrentRequests;
+
+    }
+
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.limit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.GatewayErrorResponse;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Ограничения запросов в реактивном режиме: фильтр срабатывает до контроллера и отвечает на отказ сам,
+ * потому что ошибки фильтров не доходят до GatewayErrorHandler. Запросы к actuator не ограничиваются.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveLimitFilter implements WebFilter {
+
+    private static final String HEADER = "X-Sharer-User-Id";
+
+    private static final String ACTUATOR_PATH = "/actuator";
+
+    private final RequestLimiter limiter;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().pathWithinApplication().value();
+        if (path.startsWith(ACTUATOR_PATH)) {
+            return chain.filter(exchange);
+        }
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        RequestLimiter.Permit permit;
+        try {
+            permit = limiter.acquire(path, request.getHeaders().getFirst(HEADER),
+                    remoteAddress == null ? null : remoteAddress.getHostString());
+        } catch (LimitExceededException e) {
+            return reject(exchange.getResponse(), e);
+        }
+        return chain.filter(exchange)
+                .doFinally(signal -> permit.release());
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response, LimitExceededException e) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(new GatewayErrorResponse(e.getMessage()));
+        } catch (JsonProcessingException jsonException) {
+            return Mono.error(jsonException);
+        }
+        response.setStatusCode(e.getStatus());
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+
+}
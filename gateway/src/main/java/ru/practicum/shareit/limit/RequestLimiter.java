@@ -0,0 +1,182 @@
+package ru.practicum.shareit.limit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ограничения входящих запросов шлюза. Частота запросов считается корзиной токенов на пару
+ * эндпоинт и пользователь (X-Sharer-User-Id, без него - адрес клиента). Корзины неактивных пользователей
+ * удаляются, их число ограничено. Одновременные запросы ограничены общим и, если задано, отдельным
+ * для эндпоинта счетчиком: при нехватке запрос не ждет, а сразу получает 503.
+ * Метрики: gateway.limits.rejected{limit, endpoint}, gateway.limits.in.flight, gateway.limits.rate.keys.
+ */
+@Component
+@EnableConfigurationProperties(LimitProperties.class)
+public class RequestLimiter {
+
+    private static final String DEFAULT_ENDPOINT = "default";
+
+    private static final long CONCURRENCY_RETRY_AFTER_SECONDS = 1;
+
+    private final boolean enabled;
+
+    private final Endpoint defaultEndpoint;
+
+    private final List<Endpoint> endpoints = new ArrayList<>();
+
+    private final Semaphore concurrentRequests;
+
+    private final Cache<String, TokenBucket> buckets;
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestLimiter(LimitProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.meterRegistry = meterRegistry;
+        this.defaultEndpoint = new Endpoint(DEFAULT_ENDPOINT, null,
+                intervalNanos(properties.getRequestsPerSecond()), properties.getBurst(), null);
+        properties.getEndpoints().forEach((pattern, limit) -> {
+            double requestsPerSecond = limit.getRequestsPerSecond() != null
+                    ? limit.getRequestsPerSecond() : properties.getRequestsPerSecond();
+            int burst = limit.getBurst() != null ? limit.getBurst() : properties.getBurst();
+            endpoints.add(new Endpoint(pattern, PathPatternParser.defaultInstance.parse(pattern),
+                    intervalNanos(requestsPerSecond), burst,
+                    limit.getMaxConcurrentRequests() != null ? new Semaphore(limit.getMaxConcurrentRequests()) : null));
+        });
+        endpoints.sort(Comparator.comparing(Endpoint::getPattern, PathPattern.SPECIFICITY_COMPARATOR));
+        this.concurrentRequests = new Semaphore(properties.getMaxConcurrentRequests());
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(properties.getIdleTimeout())
+                .maximumSize(properties.getMaximumKeys())
+                .build();
+        Gauge.builder("gateway.limits.in.flight", concurrentRequests,
+                        semaphore -> properties.getMaxConcurrentRequests() - semaphore.availablePermits())
+                .description("Запросы, которые сейчас выполняет шлюз")
+                .register(meterRegistry);
+        Gauge.builder("gateway.limits.rate.keys", buckets, Cache::estimatedSize)
+                .description("Пользователи, для которых хранится корзина токенов")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Пропускает запрос или бросает LimitExceededException. Полученное разрешение нужно вернуть после ответа.
+     */
+    public Permit acquire(String path, @Nullable String userId, @Nullable String remoteAddress) {
+        if (!enabled) {
+            return Permit.NONE;
+        }
+        Endpoint endpoint = findEndpoint(path);
+        String client = userId != null ? "user " + userId : "address " + remoteAddress;
+        long now = System.nanoTime();
+        long waitNanos = buckets.get(endpoint.getName() + " " + client, key -> new TokenBucket(now))
+                .tryAcquire(now, endpoint.getIntervalNanos(), endpoint.getBurstNanos());
+        if (waitNanos > 0) {
+            reject("rate", endpoint);
+            throw new LimitExceededException(HttpStatus.TOO_MANY_REQUESTS,
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)),
+                    "Слишком много запросов, повторите позже");
+        }
+        if (!concurrentRequests.tryAcquire()) {
+            reject("concurrency", endpoint);
+            throw new LimitExceededException(HttpStatus.SERVICE_UNAVAILABLE, CONCURRENCY_RETRY_AFTER_SECONDS,
+                    "Шлюз перегружен, повторите позже");
+        }
+        Semaphore endpointRequests = endpoint.getConcurrentRequests();
+        if ((endpointRequests != null) && (!endpointRequests.tryAcquire())) {
+            concurrentRequests.release();
+            reject("concurrency", endpoint);
+            throw new LimitExceededException(HttpStatus.SERVICE_UNAVAILABLE, CONCURRENCY_RETRY_AFTER_SECONDS,
+                    "Шлюз перегружен, повторите позже");
+        }
+        return new Permit(concurrentRequests, endpointRequests);
+    }
+
+    private Endpoint findEndpoint(String path) {
+        if (endpoints.isEmpty()) {
+            return defaultEndpoint;
+        }
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.getPattern().matches(pathContainer)) {
+                return endpoint;
+            }
+        }
+        return defaultEndpoint;
+    }
+
+    private void reject(String limit, Endpoint endpoint) {
+        meterRegistry.counter("gateway.limits.rejected", "limit", limit, "endpoint", endpoint.getName()).increment();
+    }
+
+    private static long intervalNanos(double requestsPerSecond) {
+        return (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+    }
+
+    @Getter
+    private static class Endpoint {
+
+        private final String name;
+
+        private final PathPattern pattern;
+
+        private final long intervalNanos;
+
+        private final long burstNanos;
+
+        private final Semaphore concurrentRequests;
+
+        Endpoint(String name, PathPattern pattern, long intervalNanos, int burst, Semaphore concurrentRequests) {
+            this.name = name;
+            this.pattern = pattern;
+            this.intervalNanos = intervalNanos;
+            this.burstNanos = intervalNanos * burst;
+            this.concurrentRequests = concurrentRequests;
+        }
+
+    }
+
+    /**
+     * Разрешение на выполнение запроса, освобождает места в счетчиках одновременных запросов один раз.
+     */
+    @RequiredArgsConstructor
+    public static class Permit {
+
+        static final Permit NONE = new Permit(null, null);
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private final Semaphore concurrentRequests;
+
+        private final Semaphore endpointRequests;
+
+        public void release() {
+            if ((concurrentRequests == null) || (!released.compareAndSet(false, true))) {
+                return;
+            }
+            concurrentRequests.release();
+            if (endpointRequests != null) {
+                endpointRequests.release();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.limit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Корзина токенов в одном AtomicLong: хранится время, когда корзина снова станет полной
+ * (алгоритм GCRA). Запрос забирает токен сдвигом этого времени через compareAndSet, без блокировок.
+ */
+class TokenBucket {
+
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(long now) {
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * Возвращает 0, если токен получен, иначе сколько наносекунд ждать следующего.
+     */
+    long tryAcquire(long now, long intervalNanos, long burstNanos) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = (arrival - now > 0 ? arrival : now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.request.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.request.client.ReactiveRequestClient;
+import ru.practicum.shareit.request.dto.RequestDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/requests")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveRequestController {
+
+    private final ReactiveRequestClient requestClient;
+
+    private static final String HEADER = "X-Sharer-User-Id";
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> createItemRequest(@RequestHeader(HEADER) long userId,
+                                                          @RequestBody @Valid RequestDto requestDto) {
+        log.info("Creating itemRequest {}, userId={}", requestDto, userId);
+        return requestClient.createItemRequest(userId, requestDto);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getAllUsersRequests(@RequestHeader(HEADER) long userId) {
+        log.info("Get all users itemRequests, userId={}", userId);
+        return requestClient.getAllUsersRequests(userId);
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<Object>> getOtherRequests(@RequestHeader(HEADER) long userId,
+                                    @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                    @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        log.info("Get other itemRequests, userId={}, from={}, size={}", userId, from, size);
+        return requestClient.getOtherRequests(userId, from, size);
+    }
+
+    @GetMapping("/{requestId}")
+    public Mono<ResponseEntity<Object>> getItemRequest(@RequestHeader(HEADER) long userId,
+                                                       @PathVariable long requestId) {
+        log.info("Get itemRequest requestId={}, userId={}", requestId, userId);
+        return requestClient.getItemRequest(requestId, userId);
+    }
+
+}
\ No newline at end of file
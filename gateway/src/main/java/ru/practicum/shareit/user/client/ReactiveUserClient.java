@@ -0,0 +1,50 @@
+package ru.practicum.shareit.user.client;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.user.dto.UserDto;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/users";
+
+    @Autowired
+    public ReactiveUserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                              ClientHttpConnector connector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> getAllUsers() {
+        return get("");
+    }
+
+    public Mono<ResponseEntity<Object>> createUser(UserDto userDto) {
+        return post("", userDto);
+    }
+
+    public Mono<ResponseEntity<Object>> updateUser(long userId, UserDto userDto) {
+        return patch("/" + userId, userId, userDto);
+    }
+
+    public Mono<ResponseEntity<Object>> getUser(long userId) {
+        return get("/" + userId, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> deleteUser(long userId) {
+        return delete("/" + userId, userId);
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.user.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.user.client.ReactiveUserClient;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.validation.Valid;
+
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/users")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveUserController {
+
+    private final ReactiveUserClient userClient;
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getUsers() {
+        log.info("Get all users");
+        return userClient.getAllUsers();
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> createUser(@RequestBody @Valid UserDto userDto) {
+        log.info("Creating user {}", userDto);
+        return userClient.createUser(userDto);
+    }
+
+    @PatchMapping("/{userId}")
+    public Mono<ResponseEntity<Object>> updateUser(@PathVariable long userId,
+                                                   @RequestBody @Valid UserDto userDto) {
+        log.info("Update user userId={}, userDto={}", userId, userDto);
+        return userClient.updateUser(userId, userDto);
+    }
+
+    @GetMapping("/{userId}")
+    public Mono<ResponseEntity<Object>> getUser(@PathVariable long userId) {
+        log.info("Get user userId={}", userId);
+        return userClient.getUser(userId);
+    }
+
+    @DeleteMapping("/{userId}")
+    public Mono<ResponseEntity<Object>> deleteUser(@PathVariable long userId) {
+        log.info("Delete user userId={}", userId);
+        return userClient.deleteUser(userId);
+    }
+
+}
\ No newline at end of file
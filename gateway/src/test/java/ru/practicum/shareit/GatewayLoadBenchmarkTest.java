@@ -0,0 +1,177 @@
+package ru.practicum.shareit;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 10 000 одновременных медленных запросов GET /users/{id} к шлюзу в блокирующем и реактивном режимах.
+ * Сервер заменен заглушкой на Netty, которая отвечает через 500 мс, не занимая потоков.
+ * Запуск: mvn test -Dtest=GatewayLoadBenchmarkTest -Dshareit.benchmark.gateway=true
+ * Каждый запрос держит несколько сокетов, поэтому может понадобиться ulimit -n 65536
+ * или меньшая нагрузка через -Dshareit.benchmark.gateway.concurrency=2000.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "shareit.benchmark.gateway", matches = "true")
+class GatewayLoadBenchmarkTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("shareit.benchmark.gateway.concurrency", 10_000);
+
+    private static final int WARM_UP_REQUESTS = 500;
+
+    private static final Duration SERVER_DELAY = Duration.ofMillis(500);
+
+    private static final Duration CLIENT_TIMEOUT = Duration.ofSeconds(120);
+
+    private static DisposableServer slowServer;
+
+    private static ConnectionProvider clientConnections;
+
+    private static HttpClient client;
+
+    @BeforeAll
+    public static void setUp() {
+        slowServer = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/users/{userId}", (request, response) -> response
+                        .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                        .sendString(Mono.delay(SERVER_DELAY)
+                                .thenReturn("{\"id\":" + request.param("userId") +
+                                        ",\"name\":\"User\",\"email\":\"user@mail.ru\"}"))))
+                .bindNow();
+        clientConnections = ConnectionProvider.builder("benchmark-client")
+                .maxConnections(CONCURRENCY)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        client = HttpClient.create(clientConnections)
+                .responseTimeout(CLIENT_TIMEOUT);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        clientConnections.disposeLater().block();
+        slowServer.disposeNow();
+    }
+
+    @Test
+    void getUser_whenManySlowRequests_thenReactiveGatewayUsesFewerThreads() {
+        LoadResult blocking = runAgainstGateway(false);
+        LoadResult reactive = runAgainstGateway(true);
+
+        log.info("Блокирующий шлюз: {}", blocking);
+        log.info("Реактивный шлюз: {}", reactive);
+        assertEquals(CONCURRENCY, reactive.getSucceeded());
+        assertTrue(reactive.getPeakThreads() < blocking.getPeakThreads());
+        assertTrue(reactive.getElapsedMillis() < blocking.getElapsedMillis());
+    }
+
+    private LoadResult runAgainstGateway(boolean reactive) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(ShareItGateway.class)
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.max-connections=" + CONCURRENCY,
+                        "shareit-server.url=http://localhost:" + slowServer.port(),
+                        "shareit-server.http-client.max-total=" + CONCURRENCY,
+                        "shareit-server.http-client.max-per-route=" + CONCURRENCY,
+                        "shareit-server.http-client.connection-request-timeout=" + CLIENT_TIMEOUT.toSeconds() + "s",
+                        "shareit-server.web-client.max-connections=" + CONCURRENCY,
+                        "shareit-server.web-client.pending-acquire-max-count=-1",
+                        "shareit-gateway.limits.enabled=false",
+                        "logging.level.org.springframework.web.client.RestTemplate=INFO",
+                        "logging.level.ru.practicum.shareit=WARN"
+                );
+        if (reactive) {
+            builder.profiles("reactive");
+        }
+        try (ConfigurableApplicationContext gateway = builder.run()) {
+            int port = gateway.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            sendConcurrently(port, WARM_UP_REQUESTS);
+            return sendConcurrently(port, CONCURRENCY);
+        }
+    }
+
+    private LoadResult sendConcurrently(int port, int requests) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        long[] latencies = new long[requests];
+        AtomicInteger succeeded = new AtomicInteger();
+
+        long startTime = System.nanoTime();
+        Flux.range(0, requests)
+                .flatMap(i -> {
+                    long requestStart = System.nanoTime();
+                    return client.get()
+                            .uri("http://localhost:" + port + "/users/" + (i + 1))
+                            .responseSingle((response, body) -> body.asString()
+                                    .defaultIfEmpty("")
+                                    .map(responseBody -> response.status().code()))
+                            .doOnNext(status -> {
+                                if (status == 200) {
+                                    latencies[i] = System.nanoTime() - requestStart;
+                                    succeeded.incrementAndGet();
+                                }
+                            })
+                            .onErrorResume(e -> Mono.empty());
+                }, requests)
+                .blockLast();
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+        long[] succeededLatencies = Arrays.stream(latencies)
+                .filter(latency -> latency > 0)
+                .sorted()
+                .toArray();
+        return new LoadResult(requests, succeeded.get(), elapsedMillis,
+                percentileMillis(succeededLatencies, 0.5), percentileMillis(succeededLatencies, 0.99),
+                threads.getPeakThreadCount());
+    }
+
+    private static long percentileMillis(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(index, 0)] / 1_000_000;
+    }
+
+    @Getter
+    @ToString
+    @RequiredArgsConstructor
+    private static class LoadResult {
+
+        private final int requests;
+
+        private final int succeeded;
+
+        private final long elapsedMillis;
+
+        private final long p50Millis;
+
+        private final long p99Millis;
+
+        private final int peakThreads;
+
+    }
+
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BaseClientTest {
+
+    private static final String SERVER_URL = "http://localhost:9090/bookings";
+
+    private MockRestServiceServer server;
+
+    private StreamingClient client;
+
+    @BeforeEach
+    public void setUp() {
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL));
+        server = MockRestServiceServer.bindTo(rest).build();
+        client = new StreamingClient(rest);
+    }
+
+    @Test
+    void stream_thenServerHeadersAndBodyForwarded() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Total-Count", "2");
+        headers.set(HttpHeaders.CONNECTION, "keep-alive");
+        server.expect(requestTo(SERVER_URL + "/owner/export"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess("{\"id\":1}\n{\"id\":2}\n", MediaType.APPLICATION_NDJSON).headers(headers));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        client.export(1, response);
+
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals(MediaType.APPLICATION_NDJSON_VALUE, response.getContentType());
+        assertEquals("2", response.getHeader("X-Total-Count"));
+        assertNull(response.getHeader(HttpHeaders.CONNECTION));
+        assertEquals("{\"id\":1}\n{\"id\":2}\n", response.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void stream_whenServerError_thenServerHeadersAndBodyForwarded() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Error-Code", "user-not-found");
+        server.expect(requestTo(SERVER_URL + "/owner/export"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .headers(headers)
+                        .body("{\"error\":\"not found\"}"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        client.export(1, response);
+
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatus());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, response.getContentType());
+        assertEquals("user-not-found", response.getHeader("X-Error-Code"));
+        assertEquals("{\"error\":\"not found\"}", response.getContentAsString());
+    }
+
+    private static class StreamingClient extends BaseClient {
+
+        StreamingClient(RestTemplate rest) {
+            super(rest);
+        }
+
+        void export(long userId, MockHttpServletResponse response) {
+            stream("/owner/export", userId, response);
+        }
+
+    }
+
+}
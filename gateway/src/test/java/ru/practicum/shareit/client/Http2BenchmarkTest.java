@@ -0,0 +1,180 @@
+package ru.practicum.shareit.client;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import ru.practicum.shareit.ShareItGateway;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 2 000 одновременных запросов GET /users/{id} через шлюз при соединениях с сервером по HTTP/1.1 и по h2c.
+ * Сервер заменен заглушкой на Netty, которая принимает оба протокола, отвечает через 50 мс
+ * и считает принятые TCP соединения.
+ * Запуск: mvn test -Dtest=Http2BenchmarkTest -Dshareit.benchmark.gateway=true
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "shareit.benchmark.gateway", matches = "true")
+class Http2BenchmarkTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("shareit.benchmark.gateway.concurrency", 2_000);
+
+    private static final int WARM_UP_REQUESTS = 500;
+
+    private static final Duration SERVER_DELAY = Duration.ofMillis(50);
+
+    private static final Duration CLIENT_TIMEOUT = Duration.ofSeconds(120);
+
+    private static final AtomicInteger acceptedSockets = new AtomicInteger();
+
+    private static final AtomicInteger openSockets = new AtomicInteger();
+
+    private static final AtomicInteger peakOpenSockets = new AtomicInteger();
+
+    private static DisposableServer server;
+
+    private static ConnectionProvider clientConnections;
+
+    private static HttpClient client;
+
+    @BeforeAll
+    public static void setUp() {
+        server = HttpServer.create()
+                .port(0)
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .doOnChannelInit((observer, channel, remoteAddress) -> {
+                    acceptedSockets.incrementAndGet();
+                    peakOpenSockets.accumulateAndGet(openSockets.incrementAndGet(), Math::max);
+                    channel.closeFuture().addListener(future -> openSockets.decrementAndGet());
+                })
+                .route(routes -> routes.get("/users/{userId}", (request, response) -> response
+                        .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                        .sendString(Mono.delay(SERVER_DELAY)
+                                .thenReturn("{\"id\":" + request.param("userId") +
+                                        ",\"name\":\"User\",\"email\":\"user@mail.ru\"}"))))
+                .bindNow();
+        clientConnections = ConnectionProvider.builder("benchmark-client")
+                .maxConnections(CONCURRENCY)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        client = HttpClient.create(clientConnections)
+                .responseTimeout(CLIENT_TIMEOUT);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        clientConnections.disposeLater().block();
+        server.disposeNow();
+    }
+
+    @Test
+    void getUser_whenH2c_thenFewerSocketsToServer() {
+        LoadResult http1 = runAgainstGateway(ServerProtocol.HTTP1);
+        LoadResult h2c = runAgainstGateway(ServerProtocol.H2C);
+
+        log.info("Шлюз с сервером по HTTP/1.1: {}", http1);
+        log.info("Шлюз с сервером по h2c: {}", h2c);
+        assertEquals(CONCURRENCY, http1.getSucceeded());
+        assertEquals(CONCURRENCY, h2c.getSucceeded());
+        assertTrue(h2c.getPeakSockets() < http1.getPeakSockets());
+    }
+
+    private LoadResult runAgainstGateway(ServerProtocol protocol) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(ShareItGateway.class)
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.threads.max=" + CONCURRENCY,
+                        "server.tomcat.max-connections=" + CONCURRENCY,
+                        "shareit-server.url=http://localhost:" + server.port(),
+                        "shareit-server.http-client.protocol=" + protocol,
+                        "shareit-server.http-client.max-total=" + CONCURRENCY,
+                        "shareit-server.http-client.max-per-route=" + CONCURRENCY,
+                        "shareit-server.http-client.connection-request-timeout=" + CLIENT_TIMEOUT.toSeconds() + "s",
+                        "shareit-gateway.limits.enabled=false",
+                        "logging.level.org.springframework.web.client.RestTemplate=INFO",
+                        "logging.level.ru.practicum.shareit=WARN"
+                );
+        try (ConfigurableApplicationContext gateway = builder.run()) {
+            int port = gateway.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            sendConcurrently(port, WARM_UP_REQUESTS);
+            acceptedSockets.set(0);
+            peakOpenSockets.set(openSockets.get());
+            return sendConcurrently(port, CONCURRENCY);
+        }
+    }
+
+    private LoadResult sendConcurrently(int port, int requests) {
+        long[] latencies = new long[requests];
+        AtomicInteger succeeded = new AtomicInteger();
+
+        Flux.range(0, requests)
+                .flatMap(i -> {
+                    long requestStart = System.nanoTime();
+                    return client.get()
+                            .uri("http://localhost:" + port + "/users/" + (i + 1))
+                            .responseSingle((response, body) -> body.asString()
+                                    .defaultIfEmpty("")
+                                    .map(responseBody -> response.status().code()))
+                            .doOnNext(status -> {
+                                if (status == 200) {
+                                    latencies[i] = System.nanoTime() - requestStart;
+                                    succeeded.incrementAndGet();
+                                }
+                            })
+                            .onErrorResume(e -> Mono.empty());
+                }, requests)
+                .blockLast();
+
+        long[] succeededLatencies = Arrays.stream(latencies)
+                .filter(latency -> latency > 0)
+                .sorted()
+                .toArray();
+        return new LoadResult(succeeded.get(), percentileMillis(succeededLatencies, 0.5),
+                percentileMillis(succeededLatencies, 0.99), acceptedSockets.get(), peakOpenSockets.get());
+    }
+
+    private static long percentileMillis(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(index, 0)] / 1_000_000;
+    }
+
+    @Getter
+    @ToString
+    @RequiredArgsConstructor
+    private static class LoadResult {
+
+        private final int succeeded;
+
+        private final long p50Millis;
+
+        private final long p99Millis;
+
+        private final int acceptedSockets;
+
+        private final int peakSockets;
+
+    }
+
+}
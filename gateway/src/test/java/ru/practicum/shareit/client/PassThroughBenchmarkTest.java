@@ -0,0 +1,155 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Процессорное время и память шлюза на один ответ сервера со страницей из 100 бронирований:
+ * разбор в Object с повторной сериализацией, как было раньше, против передачи тела байтами.
+ * Запуск: mvn test -Dtest=PassThroughBenchmarkTest -Dshareit.benchmark.gateway=true
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "shareit.benchmark.gateway", matches = "true")
+class PassThroughBenchmarkTest {
+
+    private static final int BOOKINGS_PER_PAGE = 100;
+
+    private static final int WARM_UP_REQUESTS = 2_000;
+
+    private static final int REQUESTS = 10_000;
+
+    private static DisposableServer server;
+
+    private static RestTemplate rest;
+
+    private static PageClient client;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    public static void setUp() {
+        String page = bookingsPage();
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/bookings", (request, response) -> response
+                        .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                        .sendString(Mono.just(page))))
+                .bindNow();
+        rest = new RestTemplateBuilder()
+                .uriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:" + server.port() + "/bookings"))
+                .build();
+        client = new PageClient(rest);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        server.disposeNow();
+    }
+
+    @Test
+    void get_whenBodyPassedThrough_thenLessCpuAndMemoryThanParsing() throws Exception {
+        for (int i = 0; i < WARM_UP_REQUESTS; i++) {
+            parseAndWrite();
+            client.getPage();
+        }
+
+        Measurement parsed = measure(this::parseAndWrite);
+        Measurement passedThrough = measure(() -> client.getPage().getBody());
+
+        log.info("Разбор в Object: {} мкс процессора и {} байт на запрос", parsed.getCpuMicros(), parsed.getBytes());
+        log.info("Передача байтами: {} мкс процессора и {} байт на запрос", passedThrough.getCpuMicros(),
+                passedThrough.getBytes());
+        assertTrue(passedThrough.getCpuMicros() < parsed.getCpuMicros());
+        assertTrue(passedThrough.getBytes() < parsed.getBytes());
+    }
+
+    /**
+     * Прежний путь: ответ сервера разбирается в дерево LinkedHashMap, а затем снова сериализуется в JSON.
+     */
+    private Object parseAndWrite() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.set("X-Sharer-User-Id", "1");
+        ResponseEntity<Object> response = rest.exchange("", HttpMethod.GET, new HttpEntity<>(headers), Object.class);
+        return objectMapper.writeValueAsBytes(response.getBody());
+    }
+
+    private Measurement measure(Request request) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < REQUESTS; i++) {
+            assertNotNull(request.send());
+        }
+        long cpuNanos = threads.getCurrentThreadCpuTime() - cpuBefore;
+        long bytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+        return new Measurement(cpuNanos / REQUESTS / 1_000, bytes / REQUESTS);
+    }
+
+    private static String bookingsPage() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        StringJoiner page = new StringJoiner(",", "[", "]");
+        for (int i = 1; i <= BOOKINGS_PER_PAGE; i++) {
+            page.add("{\"id\":" + i +
+                    ",\"start\":\"" + start.plusDays(i) + "\"" +
+                    ",\"end\":\"" + start.plusDays(i + 1) + "\"" +
+                    ",\"status\":\"APPROVED\"" +
+                    ",\"booker\":{\"id\":" + (i + 1000) + "}" +
+                    ",\"item\":{\"id\":" + (i + 2000) + ",\"name\":\"Дрель " + i + "\"}}");
+        }
+        return page.toString();
+    }
+
+    private interface Request {
+        Object send() throws Exception;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class Measurement {
+
+        private final long cpuMicros;
+
+        private final long bytes;
+
+    }
+
+    private static class PageClient extends BaseClient {
+
+        PageClient(RestTemplate rest) {
+            super(rest);
+        }
+
+        ResponseEntity<Object> getPage() {
+            return get("", 1L);
+        }
+
+    }
+
+}
@@ -0,0 +1,160 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+
+    private static final String RESOURCE = "/items/1";
+
+    private static final long OWNER_ID = 1;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void execute_whenUserUnknown_thenRequestNotCoalesced() {
+        RequestCoalescer coalescer = coalescer(Duration.ofMinutes(1));
+        coalescer.execute(RESOURCE, 2, () -> ok("leader"));
+
+        ResponseEntity<Object> response = coalescer.execute(RESOURCE, 3, () -> ok("own"));
+
+        assertEquals("own", response.getBody());
+        assertNull(response.getHeaders().getFirst(RequestCoalescer.OWNER_HEADER));
+        assertEquals(2, requests("bypassed"));
+    }
+
+    @Test
+    void execute_whenSameViewerClassInWindow_thenLeaderResponseShared() {
+        RequestCoalescer coalescer = coalescer(Duration.ofMinutes(1));
+        knowUsers(coalescer, 2, 3);
+        AtomicInteger sent = new AtomicInteger();
+
+        coalescer.execute(RESOURCE, 2, () -> {
+            sent.incrementAndGet();
+            return ok("leader");
+        });
+        ResponseEntity<Object> response = coalescer.execute(RESOURCE, 3, () -> {
+            sent.incrementAndGet();
+            return ok("follower");
+        });
+
+        assertEquals("leader", response.getBody());
+        assertEquals(1, sent.get());
+        assertEquals(1, requests("follower"));
+    }
+
+    @Test
+    @SneakyThrows
+    void execute_whenLeaderInFlight_thenFollowerWaitsForLeaderResponse() {
+        RequestCoalescer coalescer = coalescer(Duration.ZERO);
+        knowUsers(coalescer, 2, 3);
+        AtomicReference<ResponseEntity<Object>> followerResponse = new AtomicReference<>();
+        Thread follower = new Thread(() -> followerResponse.set(coalescer.execute(RESOURCE, 3, () -> ok("follower"))));
+
+        coalescer.execute(RESOURCE, 2, () -> {
+            follower.start();
+            assertTrue(awaitWaiting(follower));
+            return ok("leader");
+        });
+        follower.join(Duration.ofSeconds(5).toMillis());
+
+        assertEquals("leader", followerResponse.get().getBody());
+        assertEquals(1, requests("follower"));
+    }
+
+    @Test
+    void execute_whenOwnerAndOtherUser_thenSeparateRequests() {
+        RequestCoalescer coalescer = coalescer(Duration.ofMinutes(1));
+        knowUsers(coalescer, OWNER_ID, 2);
+
+        coalescer.execute(RESOURCE, 2, () -> ok("public"));
+        ResponseEntity<Object> ownerResponse = coalescer.execute(RESOURCE, OWNER_ID, () -> ok("owner"));
+        ResponseEntity<Object> publicResponse = coalescer.execute(RESOURCE, 2, () -> ok("public again"));
+
+        assertEquals("owner", ownerResponse.getBody());
+        assertEquals("public", publicResponse.getBody());
+        assertEquals(2, requests("leader"));
+    }
+
+    @Test
+    @SneakyThrows
+    void execute_whenLeaderFailed_thenFollowerSendsOwnRequest() {
+        RequestCoalescer coalescer = coalescer(Duration.ofMinutes(1));
+        knowUsers(coalescer, 2, 3);
+        AtomicReference<ResponseEntity<Object>> followerResponse = new AtomicReference<>();
+        Thread follower = new Thread(() -> followerResponse.set(coalescer.execute(RESOURCE, 3, () -> ok("follower"))));
+
+        ResponseEntity<Object> leaderResponse = coalescer.execute(RESOURCE, 2, () -> {
+            follower.start();
+            assertTrue(awaitWaiting(follower));
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        });
+        follower.join(Duration.ofSeconds(5).toMillis());
+
+        assertEquals(HttpStatus.NOT_FOUND, leaderResponse.getStatusCode());
+        assertEquals(HttpStatus.OK, followerResponse.get().getStatusCode());
+        assertEquals("follower", followerResponse.get().getBody());
+        assertEquals(0, requests("follower"));
+    }
+
+    @Test
+    void execute_whenLeaderThrew_thenFollowerSendsOwnRequest() {
+        RequestCoalescer coalescer = coalescer(Duration.ofMinutes(1));
+        knowUsers(coalescer, 2, 3);
+
+        assertThrows(IllegalStateException.class, () -> coalescer.execute(RESOURCE, 2, () -> {
+            throw new IllegalStateException("Сервер недоступен");
+        }));
+        ResponseEntity<Object> response = coalescer.execute(RESOURCE, 3, () -> ok("follower"));
+
+        assertEquals("follower", response.getBody());
+    }
+
+    private RequestCoalescer coalescer(Duration window) {
+        return new RequestCoalescer(true, window, 1_000, Duration.ofMinutes(10), meterRegistry);
+    }
+
+    /**
+     * Первый ответ каждому пользователю не объединяется: по нему шлюз узнает пользователя и владельца ресурса.
+     */
+    private void knowUsers(RequestCoalescer coalescer, long... userIds) {
+        for (long userId : userIds) {
+            coalescer.execute(RESOURCE, userId, () -> ok("first"));
+        }
+    }
+
+    private double requests(String role) {
+        return meterRegistry.get("gateway.coalescing.requests").tag("role", role).counter().count();
+    }
+
+    private static ResponseEntity<Object> ok(Object body) {
+        return ResponseEntity.ok()
+                .header(RequestCoalescer.OWNER_HEADER, String.valueOf(OWNER_ID))
+                .body(body);
+    }
+
+    @SneakyThrows
+    private static boolean awaitWaiting(Thread thread) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (System.nanoTime() < deadline) {
+            if (thread.getState() == Thread.State.WAITING) {
+                return true;
+            }
+            if (thread.getState() == Thread.State.TERMINATED) {
+                return false;
+            }
+            Thread.sleep(1);
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest {
+
+    private static final String KEY = "/items/1 user 2";
+
+    private static final String ETAG = "W/\"item-1-0-public\"";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ResponseCache responseCache = new ResponseCache(true, DataSize.ofMegabytes(1),
+            Duration.ofMinutes(10), meterRegistry);
+
+    @Test
+    void update_whenOkWithETag_thenResponseCached() {
+        responseCache.update(KEY, null, response(HttpStatus.OK, ETAG, "{\"id\":1}"));
+
+        ResponseCache.CachedResponse cached = responseCache.get(KEY);
+
+        assertNotNull(cached);
+        assertEquals(ETAG, cached.getEtag());
+        assertEquals("{\"id\":1}", new String(cached.getBody(), StandardCharsets.UTF_8));
+        assertNull(cached.getHeaders().getFirst(HttpHeaders.CONNECTION));
+    }
+
+    @Test
+    void update_whenNoETag_thenResponseNotCached() {
+        responseCache.update(KEY, null, response(HttpStatus.OK, null, "{\"id\":1}"));
+
+        assertNull(responseCache.get(KEY));
+    }
+
+    @Test
+    void update_whenErrorResponse_thenPreviousResponseEvicted() {
+        responseCache.update(KEY, null, response(HttpStatus.OK, ETAG, "{\"id\":1}"));
+        ResponseCache.CachedResponse previous = responseCache.get(KEY);
+
+        responseCache.update(KEY, previous, response(HttpStatus.NOT_FOUND, null, "{\"error\":\"\"}"));
+
+        assertNull(responseCache.get(KEY));
+        assertEquals(1, revalidations("modified"));
+    }
+
+    @Test
+    void notModified_thenCachedBodyReturnedAndBytesCounted() {
+        responseCache.update(KEY, null, response(HttpStatus.OK, ETAG, "{\"id\":1}"));
+
+        ResponseEntity<Object> response = responseCache.notModified(responseCache.get(KEY));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertArrayEquals("{\"id\":1}".getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        assertEquals(1, revalidations("not_modified"));
+        assertEquals(8, meterRegistry.get("gateway.response.cache.bytes.saved").counter().count());
+    }
+
+    @Test
+    void evict_thenResponseRemoved() {
+        responseCache.update(KEY, null, response(HttpStatus.OK, ETAG, "{\"id\":1}"));
+
+        responseCache.evict(KEY);
+
+        assertNull(responseCache.get(KEY));
+    }
+
+    private double revalidations(String result) {
+        return meterRegistry.get("gateway.response.cache.revalidations").tag("result", result).counter().count();
+    }
+
+    private static ResponseEntity<byte[]> response(HttpStatus status, String etag, String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CONNECTION, "keep-alive");
+        if (etag != null) {
+            headers.setETag(etag);
+        }
+        return new ResponseEntity<>(body.getBytes(StandardCharsets.UTF_8), headers, status);
+    }
+
+}
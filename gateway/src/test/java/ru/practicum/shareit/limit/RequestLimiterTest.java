@@ -0,0 +1,95 @@
+package ru.practicum.shareit.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void acquire_whenBurstExceeded_thenTooManyRequests() {
+        LimitProperties properties = properties(0.001, 2, 100);
+        RequestLimiter limiter = new RequestLimiter(properties, meterRegistry);
+
+        limiter.acquire("/items/1", "1", null).release();
+        limiter.acquire("/items/1", "1", null).release();
+        LimitExceededException e = assertThrows(LimitExceededException.class,
+                () -> limiter.acquire("/items/1", "1", null));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, e.getStatus());
+        assertTrue(e.getRetryAfterSeconds() >= 1);
+        assertEquals(1, rejected("rate", "default"));
+    }
+
+    @Test
+    void acquire_whenOtherUser_thenOwnBucket() {
+        RequestLimiter limiter = new RequestLimiter(properties(0.001, 1, 100), meterRegistry);
+
+        limiter.acquire("/items/1", "1", null).release();
+
+        assertDoesNotThrow(() -> limiter.acquire("/items/1", "2", null).release());
+        assertDoesNotThrow(() -> limiter.acquire("/items/1", null, "127.0.0.1").release());
+        assertThrows(LimitExceededException.class, () -> limiter.acquire("/items/1", "1", null));
+    }
+
+    @Test
+    void acquire_whenEndpointConfigured_thenEndpointLimitApplied() {
+        LimitProperties properties = properties(1_000, 100, 100);
+        LimitProperties.EndpointLimit search = new LimitProperties.EndpointLimit();
+        search.setRequestsPerSecond(0.001);
+        search.setBurst(1);
+        properties.getEndpoints().put("/items/search", search);
+        RequestLimiter limiter = new RequestLimiter(properties, meterRegistry);
+
+        limiter.acquire("/items/search", "1", null).release();
+
+        assertThrows(LimitExceededException.class, () -> limiter.acquire("/items/search", "1", null));
+        assertDoesNotThrow(() -> limiter.acquire("/items/1", "1", null).release());
+        assertEquals(1, rejected("rate", "/items/search"));
+    }
+
+    @Test
+    void acquire_whenConcurrencyExhausted_thenServiceUnavailableUntilReleased() {
+        RequestLimiter limiter = new RequestLimiter(properties(1_000, 100, 1), meterRegistry);
+        RequestLimiter.Permit permit = limiter.acquire("/items/1", "1", null);
+
+        LimitExceededException e = assertThrows(LimitExceededException.class,
+                () -> limiter.acquire("/items/1", "2", null));
+        permit.release();
+        permit.release();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatus());
+        RequestLimiter.Permit next = limiter.acquire("/items/1", "2", null);
+        assertThrows(LimitExceededException.class, () -> limiter.acquire("/items/1", "3", null));
+        next.release();
+    }
+
+    @Test
+    void acquire_whenDisabled_thenAlwaysAllowed() {
+        LimitProperties properties = properties(0.001, 1, 1);
+        properties.setEnabled(false);
+        RequestLimiter limiter = new RequestLimiter(properties, meterRegistry);
+
+        for (int i = 0; i < 10; i++) {
+            assertDoesNotThrow(() -> limiter.acquire("/items/1", "1", null));
+        }
+    }
+
+    private static LimitProperties properties(double requestsPerSecond, int burst, int maxConcurrentRequests) {
+        LimitProperties properties = new LimitProperties();
+        properties.setRequestsPerSecond(requestsPerSecond);
+        properties.setBurst(burst);
+        properties.setMaxConcurrentRequests(maxConcurrentRequests);
+        return properties;
+    }
+
+    private double rejected(String limit, String endpoint) {
+        return meterRegistry.get("gateway.limits.rejected").tag("limit", limit).tag("endpoint", endpoint)
+                .counter().count();
+    }
+
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final int BURST = 5;
+
+    private static final long BURST_NANOS = INTERVAL * BURST;
+
+    private static final long NOW = TimeUnit.SECONDS.toNanos(1_000);
+
+    @Test
+    void tryAcquire_whenBurstAvailable_thenBurstRequestsAllowedAtOnce() {
+        TokenBucket bucket = new TokenBucket(NOW);
+
+        for (int i = 0; i < BURST; i++) {
+            assertEquals(0, bucket.tryAcquire(NOW, INTERVAL, BURST_NANOS));
+        }
+        assertEquals(INTERVAL, bucket.tryAcquire(NOW, INTERVAL, BURST_NANOS));
+    }
+
+    @Test
+    void tryAcquire_whenRejected_thenTokenNotTaken() {
+        TokenBucket bucket = new TokenBucket(NOW);
+        for (int i = 0; i < BURST; i++) {
+            bucket.tryAcquire(NOW, INTERVAL, BURST_NANOS);
+        }
+
+        assertTrue(bucket.tryAcquire(NOW, INTERVAL, BURST_NANOS) > 0);
+        assertTrue(bucket.tryAcquire(NOW, INTERVAL, BURST_NANOS) > 0);
+        assertEquals(0, bucket.tryAcquire(NOW + INTERVAL, INTERVAL, BURST_NANOS));
+    }
+
+    @Test
+    void tryAcquire_whenIntervalPassed_thenOneTokenRefilled() {
+        TokenBucket bucket = new TokenBucket(NOW);
+        for (int i = 0; i < BURST; i++) {
+            bucket.tryAcquire(NOW, INTERVAL, BURST_NANOS);
+        }
+
+        assertEquals(INTERVAL / 2, bucket.tryAcquire(NOW + INTERVAL / 2, INTERVAL, BURST_NANOS));
+        assertEquals(0, bucket.tryAcquire(NOW + INTERVAL, INTERVAL, BURST_NANOS));
+        assertTrue(bucket.tryAcquire(NOW + INTERVAL, INTERVAL, BURST_NANOS) > 0);
+    }
+
+    @Test
+    void tryAcquire_whenIdleLongerThanBurst_thenBurstNotAccumulatedAboveLimit() {
+        TokenBucket bucket = new TokenBucket(NOW);
+        long later = NOW + TimeUnit.SECONDS.toNanos(60);
+
+        for (int i = 0; i < BURST; i++) {
+            assertEquals(0, bucket.tryAcquire(later, INTERVAL, BURST_NANOS));
+        }
+        assertTrue(bucket.tryAcquire(later, INTERVAL, BURST_NANOS) > 0);
+    }
+
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit;
+
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * HTTP/2 без TLS (h2c) для соединений шлюза: при server.http2.enabled=true Tomcat принимает h2c
+ * рядом с HTTP/1.1, и шлюз мультиплексирует запросы через несколько соединений.
+ * Здесь только лимиты потоков на одно соединение, по умолчанию Tomcat выполняет не больше 20 одновременно.
+ */
+@Configuration
+@ConditionalOnProperty(name = "server.http2.enabled", havingValue = "true")
+public class Http2Config {
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> http2StreamLimits(
+            @Value("${shareit.http2.max-concurrent-streams:200}") long maxConcurrentStreams,
+            @Value("${shareit.http2.max-concurrent-stream-execution:200}") int maxConcurrentStreamExecution) {
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            for (UpgradeProtocol protocol : connector.findUpgradeProtocols()) {
+                if (protocol instanceof Http2Protocol) {
+                    ((Http2Protocol) protocol).setMaxConcurrentStreams(maxConcurrentStreams);
+                    ((Http2Protocol) protocol).setMaxConcurrentStreamExecution(maxConcurrentStreamExecution);
+                }
+            }
+        });
+    }
+
+}
@@ -1,13 +1,23 @@
 package ru.practicum.shareit.booking.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.service.BookingServiceJpaImpl;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -20,57 +30,111 @@ public class BookingController {
 
     private final BookingServiceJpaImpl bookingService;
 
+    private final ObjectMapper objectMapper;
+
     private static final String HEADER = "X-Sharer-User-Id";
 
     @Autowired
-    public BookingController(BookingServiceJpaImpl bookingService) {
+    public BookingController(BookingServiceJpaImpl bookingService, ObjectMapper objectMapper) {
         this.bookingService = bookingService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
-    public Booking create(@RequestHeader(HEADER) int userId, @RequestBody BookingDto bookingDto,
-                      HttpServletRequest request) {
+    public BookingResponseDto create(@RequestHeader(HEADER) int userId, @RequestBody BookingDto bookingDto,
+                                     HttpServletRequest request) {
         log.info("Получен запрос к эндпоинту: '{} {}', Строка параметров запроса: '{}'",
                 request.getMethod(), request.getRequestURI(), request.getQueryString());
         return bookingService.createBooking(userId, bookingDto);
     }
 
     @PatchMapping("/{bookingId}")
-    public Booking change(@RequestHeader(HEADER) int userId, @PathVariable int bookingId,
-                      @RequestParam(name = "approved") boolean isApproved, HttpServletRequest request) {
+    public BookingResponseDto change(@RequestHeader(HEADER) int userId, @PathVariable int bookingId,
+                                     @RequestParam(name = "approved") boolean isApproved,
+                                     HttpServletRequest request) {
         log.info("Получен запрос к эндпоинту: '{} {}', Строка параметров запроса: '{}'",
                 request.getMethod(), request.getRequestURI(), request.getQueryString());
         return bookingService.approvedBooking(userId, bookingId, isApproved);
     }
 
     @GetMapping("/{bookingId}")
-    public Booking getBookingById(@RequestHeader(HEADER) int userId, @PathVariable int bookingId,
-                      HttpServletRequest request) {
+    public BookingResponseDto getBookingById(@RequestHeader(HEADER) int userId, @PathVariable int bookingId,
+                                             HttpServletRequest request) {
         log.info("Получен запрос к эндпоинту: '{} {}', Строка параметров запроса: '{}'",
                 request.getMethod(), request.getRequestURI(), request.getQueryString());
         return bookingService.findBookingById(userId, bookingId);
     }
 
     @GetMapping
-    public List<Booking> getBookingsByUserId(@RequestHeader(HEADER) int userId,
-                                             @RequestParam(defaultValue = "0") int from,
-                                             @RequestParam(defaultValue = "20") int size,
-                                             @RequestParam(defaultValue = "ALL") String state,
-                                             HttpServletRequest request) {
+    public List<BookingResponseDto> getBookingsByUserId(@RequestHeader(HEADER) int userId,
+                                                        @RequestParam(defaultValue = "0") int from,
+                                                        @RequestParam(defaultValue = "20") int size,
+                                                        @RequestParam(defaultValue = "ALL") String state,
+                                                        HttpServletRequest request) {
         log.info("Получен запрос к эндпоинту: '{} {}', Строка параметров запроса: '{}'",
                 request.getMethod(), request.getRequestURI(), request.getQueryString());
         return bookingService.findBookingByUserId(userId, state, from, size);
     }
 
+    @GetMapping(params = "cursor")
+    public BookingPageDto getBookingsByUserIdAfterCursor(@RequestHeader(HEADER) int userId,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "20") int size,
+                                                         @RequestParam(defaultValue = "ALL") String state,
+                                                         HttpServletRequest request) {
+        log.info("Получен запрос к эндпоинту: '{} {}', Строка параметров запроса: '{}'",
+                request.getMethod(), request.getRequestURI(), request.getQueryString());
+        return bookingService.findBookingByUserIdAfterCursor(userId, state, cursor, size);
+    }
+
     @GetMapping("/owner")
-    public List<Booking> getBookingsByOwnerId(@RequestHeader(HEADER) int userId,
-                                              @RequestParam(defaultValue = "0") int from,
-                                              @RequestParam(defaultValue = "20") int size,
-                                              @RequestParam(defaultValue = "ALL") String state,
-                                              HttpServletRequest request) {
+    public List<BookingResponseDto> getBookingsByOwnerId(@RequestHeader(HEADER) int userId,
+                                                         @RequestParam(defaultValue = "0") int from,
+                                                         @RequestParam(defaultValue = "20") int size,
+                                                         @RequestParam(defaultValue = "ALL") String state,
+                                                         HttpServletRequest request) {
         log.info("Получен запрос к эндпоинту: '{} {}', Строка параметров запроса: '{}'",
                 request.getMethod(), request.getRequestURI(), request.getQueryString());
         return bookingService.findBookingByOwnerId(userId, state, from, size);
     }
 
-}
\ No newline at end of file
+    @GetMapping(path = "/owner", params = "cursor")
+    public BookingPageDto getBookingsByOwnerIdAfterCursor(@RequestHeader(HEADER) int userId,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "20") int size,
+                                                          @RequestParam(defaultValue = "ALL") String state,
+                                                          HttpServletRequest request) {
+        log.info("Получен запрос к эндпоинту: '{} {}', Строка параметров запроса: '{}'",
+                request.getMethod(), request.getRequestURI(), request.getQueryString());
+        return bookingService.findBookingByOwnerIdAfterCursor(userId, state, cursor, size);
+    }
+
+    /**
+     * Все бронирования вещей владельца в формате NDJSON: по одному объекту в строке.
+     * Строки пишутся в ответ по мере чтения из базы данных.
+     */
+    @GetMapping("/owner/export")
+    public void exportBookingsByOwnerId(@RequestHeader(HEADER) int userId, HttpServletRequest request,
+                                        HttpServletResponse response) throws IOException {
+        log.info("Получен запрос к эндпоинту: '{} {}', Строка параметров запроса: '{}'",
+                request.getMethod(), request.getRequestURI(), request.getQueryString());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        ObjectWriter writer = objectMapper.writerFor(BookingResponseDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        try (generator) {
+            bookingService.exportBookingsByOwnerId(userId, booking -> {
+                try {
+                    writer.writeValue(generator, booking);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * Бронирование в ответе сервера: вещь и автор бронирования представлены только нужными клиенту полями.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingResponseDto {
+
+    private Integer id;
+
+    private LocalDateTime start;
+
+    private LocalDateTime end;
+
+    private Status status;
+
+    private ItemView item;
+
+    private BookerView booker;
+
+    public BookingResponseDto(Integer id, LocalDateTime start, LocalDateTime end, Status status,
+                              Integer itemId, String itemName, Integer bookerId) {
+        this(id, start, end, status, new ItemView(itemId, itemName), new BookerView(bookerId));
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ItemView {
+
+        private Integer id;
+
+        private String name;
+
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class BookerView {
+
+        private Integer id;
+
+    }
+
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class BookingSavedEvent {
+
+    private final int itemId;
+
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking.mapper;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
@@ -22,6 +23,11 @@ public class BookingMapper {
         }
     }
 
+    public static BookingResponseDto bookingToBookingResponseDto(Booking booking) {
+        return new BookingResponseDto(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus(),
+                booking.getItem().getId(), booking.getItem().getName(), booking.getBooker().getId());
+    }
+
     public static Booking bookingDtoToBooking(BookingDto bookingDto) {
         return Booking.builder()
                 .id(bookingDto.getId())
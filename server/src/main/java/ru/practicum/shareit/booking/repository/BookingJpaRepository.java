@@ -2,79 +2,199 @@ package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface BookingJpaRepository extends JpaRepository<Booking, Integer> {
-    List<Booking> findByBookerId(int userId, Pageable page);
 
-    List<Booking> findByBookerIdAndEndIsBefore(int bookerId, LocalDateTime end, Pageable page);
+    String RESPONSE_SELECT = " select new ru.practicum.shareit.booking.dto.BookingResponseDto(" +
+            "b.id, b.start, b.end, b.status, i.id, i.name, b.booker.id) " +
+            "from Booking b " +
+            "join b.item i ";
+
+    @EntityGraph(attributePaths = "item")
+    Optional<Booking> findById(Integer id);
 
-    List<Booking> findByBookerIdAndStartIsAfter(int userId, LocalDateTime start, Pageable page);
+    @Query(RESPONSE_SELECT +
+            "where (b.booker.id = ?1)")
+    List<BookingResponseDto> findByBookerId(int userId, Pageable page);
 
-    List<Booking> findByBookerIdAndStatus(int userId, Status status, Pageable page);
+    @Query(RESPONSE_SELECT +
+            "where (b.booker.id = ?1) " +
+            "and (b.end < ?2)")
+    List<BookingResponseDto> findByBookerIdAndEndIsBefore(int bookerId, LocalDateTime end, Pageable page);
+
+    @Query(RESPONSE_SELECT +
+            "where (b.booker.id = ?1) " +
+            "and (b.start > ?2)")
+    List<BookingResponseDto> findByBookerIdAndStartIsAfter(int userId, LocalDateTime start, Pageable page);
 
-    @Query(" select b from Booking b " +
+    @Query(RESPONSE_SELECT +
             "where (b.booker.id = ?1) " +
-            "and (b.start < current_timestamp) " +
-            " and (b.end > current_timestamp )")
-    List<Booking> findCurrentByBookerId(int userId, Pageable page);
-
-    @Query(" select b from Booking b " +
-            "where (b.item.owner.id = ?1)")
-    List<Booking> findByOwnerId(int userId, Pageable page);
-
-    @Query(" select b from Booking b " +
-            "where (b.item.owner.id = ?1) " +
-            "and (b.start < current_timestamp) " +
-            " and (b.end > current_timestamp )")
-    List<Booking> findCurrentByOwnerId(int userId, Pageable page);
-
-    @Query(" select b from Booking b " +
-            "where (b.item.owner.id = ?1) " +
-            "and (b.start < current_timestamp) " +
-            " and (b.end < current_timestamp )")
-    List<Booking> findPastByOwnerId(int userId, Pageable page);
-
-    @Query(" select b from Booking b " +
-            "where (b.item.owner.id = ?1) " +
-            "and (b.start > current_timestamp) " +
-            " and (b.end > current_timestamp )")
-    List<Booking> findFutureByOwnerId(int userId, Pageable page);
-
-    @Query(" select b from Booking b " +
-            "where (b.item.owner.id = ?1) " +
+            "and (b.status = ?2)")
+    List<BookingResponseDto> findByBookerIdAndStatus(int userId, Status status, Pageable page);
+
+    @Query(RESPONSE_SELECT +
+            "where (b.booker.id = ?1) " +
+            "and (b.start < ?2) " +
+            "and (b.end > ?2)")
+    List<BookingResponseDto> findCurrentByBookerId(int userId, LocalDateTime now, Pageable page);
+
+    @Query(RESPONSE_SELECT +
+            "where (i.owner.id = ?1)")
+    List<BookingResponseDto> findByOwnerId(int userId, Pageable page);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query(RESPONSE_SELECT +
+            "where (i.owner.id = ?1) " +
+            "order by b.end desc, b.id desc")
+    Stream<BookingResponseDto> streamByOwnerId(int userId);
+
+    @Query(RESPONSE_SELECT +
+            "where (i.owner.id = ?1) " +
+            "and (b.start < ?2) " +
+            "and (b.end > ?2)")
+    List<BookingResponseDto> findCurrentByOwnerId(int userId, LocalDateTime now, Pageable page);
+
+    @Query(RESPONSE_SELECT +
+            "where (i.owner.id = ?1) " +
+            "and (b.start < ?2) " +
+            "and (b.end < ?2)")
+    List<BookingResponseDto> findPastByOwnerId(int userId, LocalDateTime now, Pageable page);
+
+    @Query(RESPONSE_SELECT +
+            "where (i.owner.id = ?1) " +
+            "and (b.start > ?2) " +
+            "and (b.end > ?2)")
+    List<BookingResponseDto> findFutureByOwnerId(int userId, LocalDateTime now, Pageable page);
+
+    @Query(RESPONSE_SELECT +
+            "where (i.owner.id = ?1) " +
             "and (b.status = 'WAITING')")
-    List<Booking> findWaitingByOwnerId(int userId, Pageable page);
+    List<BookingResponseDto> findWaitingByOwnerId(int userId, Pageable page);
 
-    @Query(" select b from Booking b " +
-            "where (b.item.owner.id = ?1) " +
+    @Query(RESPONSE_SELECT +
+            "where (i.owner.id = ?1) " +
             "and (b.status = 'REJECTED')")
-    List<Booking> findRejectedByOwnerId(int userId, Pageable page);
+    List<BookingResponseDto> findRejectedByOwnerId(int userId, Pageable page);
+
+    @Query(RESPONSE_SELECT +
+            "where (b.booker.id = ?1) " +
+            "and ((b.end < ?2) or ((b.end = ?2) and (b.id < ?3)))")
+    List<BookingResponseDto> findByBookerIdAfterCursor(int userId, LocalDateTime end, int id, Pageable page);
 
-    List<Booking> findByItemId(int itemId);
+    @Query(RESPONSE_SELECT +
+            "where (b.booker.id = ?1) " +
+            "and ((b.end < ?2) or ((b.end = ?2) and (b.id < ?3))) " +
+            "and (b.start < ?4) " +
+            "and (b.end > ?4)")
+    List<BookingResponseDto> findCurrentByBookerIdAfterCursor(int userId, LocalDateTime end, int id,
+                                                              LocalDateTime now, Pageable page);
+
+    @Query(RESPONSE_SELECT +
+            "where (b.booker.id = ?1) " +
+            "and ((b.end < ?2) or ((b.end = ?2) and (b.id < ?3))) " +
+            "and (b.end < ?4)")
+    List<BookingResponseDto> findPastByBookerIdAfterCursor(int userId, LocalDateTime end, int id,
+                                                           LocalDateTime now, Pageable page);
+
+    @Query(RESPONSE_SELECT +
+            "where (b.booker.id = ?1) " +
+            "and ((b.end < ?2) or ((b.end = ?2) and (b.id < ?3))) " +
+            "and (b.start > ?4)")
+    List<BookingResponseDto> findFutureByBookerIdAfterCursor(int userId, LocalDateTime end, int id,
+                                                             LocalDateTime now, Pageable page);
+
+    @Query(RESPONSE_SELECT +
+            "where (b.booker.id = ?1) " +
+            "and ((b.end < ?2) or ((b.end = ?2) and (b.id < ?3))) " +
+            "and (b.status = ?4)")
+    List<BookingResponseDto> findByBookerIdAndStatusAfterCursor(int userId, LocalDateTime end, int id,
+                                                                Status status, Pageable page);
+
+    @Query(RESPONSE_SELECT +
+            "where (i.owner.id = ?1) " +
+            "and ((b.end < ?2) or ((b.end = ?2) and (b.id < ?3)))")
+    List<BookingResponseDto> findByOwnerIdAfterCursor(int userId, LocalDateTime end, int id, Pageable page);
+
+    @Query(RESPONSE_SELECT +
+            "where (i.owner.id = ?1) " +
+            "and ((b.end < ?2) or ((b.end = ?2) and (b.id < ?3))) " +
+            "and (b.start < ?4) " +
+            "and (b.end > ?4)")
+    List<BookingResponseDto> findCurrentByOwnerIdAfterCursor(int userId, LocalDateTime end, int id,
+                                                             LocalDateTime now, Pageable page);
+
+    @Query(RESPONSE_SELECT +
+            "where (i.owner.id = ?1) " +
+            "and ((b.end < ?2) or ((b.end = ?2) and (b.id < ?3))) " +
+            "and (b.start < ?4) " +
+            "and (b.end < ?4)")
+    List<BookingResponseDto> findPastByOwnerIdAfterCursor(int userId, LocalDateTime end, int id,
+                                                          LocalDateTime now, Pageable page);
+
+    @Query(RESPONSE_SELECT +
+            "where (i.owner.id = ?1) " +
+            "and ((b.end < ?2) or ((b.end = ?2) and (b.id < ?3))) " +
+            "and (b.start > ?4) " +
+            "and (b.end > ?4)")
+    List<BookingResponseDto> findFutureByOwnerIdAfterCursor(int userId, LocalDateTime end, int id,
+                                                            LocalDateTime now, Pageable page);
+
+    @Query(RESPONSE_SELECT +
+            "where (i.owner.id = ?1) " +
+            "and ((b.end < ?2) or ((b.end = ?2) and (b.id < ?3))) " +
+            "and (b.status = ?4)")
+    List<BookingResponseDto> findByOwnerIdAndStatusAfterCursor(int userId, LocalDateTime end, int id,
+                                                               Status status, Pageable page);
+
+    boolean existsByItemIdAndStartIsBeforeAndEndIsAfterAndStatusIn(int itemId, LocalDateTime end,
+                                                                    LocalDateTime start,
+                                                                    Collection<Status> statuses);
 
     @Query(value = "select * from bookings b " +
             "where (b.ITEM_ID = ?1) " +
-            "and (START_DATE < current_timestamp) " +
+            "and (START_DATE < ?2) " +
             "and (STATUS = 'APPROVED') " +
-            "order by END_DATE desc " +
+            "order by END_DATE desc, BOOKING_ID desc " +
             "limit 1", nativeQuery = true)
-    Optional<Booking> findLastBookingForItem(int id);
+    Optional<Booking> findLastBookingForItem(int id, LocalDateTime now);
 
     @Query(value = "select * from bookings b " +
             "where (ITEM_ID = ?1) " +
-            "and (START_DATE > current_timestamp) " +
+            "and (START_DATE > ?2) " +
             "and (STATUS = 'APPROVED') " +
-            "order by START_DATE asc " +
+            "order by START_DATE asc, BOOKING_ID asc " +
             "limit 1", nativeQuery = true)
-    Optional<Booking> findNextBookingForItem(int id);
+    Optional<Booking> findNextBookingForItem(int id, LocalDateTime now);
+
+    @Query(" select b from Item i " +
+            "join i.lastBooking b " +
+            "where (i.id in ?1)")
+    List<Booking> findLastBookingsForItems(Collection<Integer> itemIds);
+
+    @Query(" select b from Item i " +
+            "join i.nextBooking b " +
+            "where (i.id in ?1)")
+    List<Booking> findNextBookingsForItems(Collection<Integer> itemIds);
 
     List<Booking> findByBookerIdAndItemId(int userId, int itemId, Sort sort);
 
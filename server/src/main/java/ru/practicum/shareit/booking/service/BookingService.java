@@ -1,19 +1,27 @@
 package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
-    Booking createBooking(int userId, BookingDto bookingDto);
+    BookingResponseDto createBooking(int userId, BookingDto bookingDto);
 
-    Booking approvedBooking(int userId, int bookingId, boolean isApproved);
+    BookingResponseDto approvedBooking(int userId, int bookingId, boolean isApproved);
 
-    Booking findBookingById(int userId, int bookingId);
+    BookingResponseDto findBookingById(int userId, int bookingId);
 
-    List<Booking> findBookingByUserId(int userId, String state,  int from, int size);
+    List<BookingResponseDto> findBookingByUserId(int userId, String state,  int from, int size);
 
-    List<Booking> findBookingByOwnerId(int userId, String state,  int from, int size);
+    List<BookingResponseDto> findBookingByOwnerId(int userId, String state,  int from, int size);
+
+    BookingPageDto findBookingByUserIdAfterCursor(int userId, String state, String cursor, int size);
+
+    BookingPageDto findBookingByOwnerIdAfterCursor(int userId, String state, String cursor, int size);
+
+    void exportBookingsByOwnerId(int userId, Consumer<BookingResponseDto> consumer);
 
 }
\ No newline at end of file
@@ -2,28 +2,39 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.event.BookingSavedEvent;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingJpaRepository;
 import ru.practicum.shareit.exception.*;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.pointer.BookingPointerService;
 import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.pagination.BookingCursor;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserJpaRepository;
 import ru.practicum.shareit.validator.Validator;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
+@Transactional
 public class BookingServiceJpaImpl implements BookingService {
 
     private final BookingJpaRepository bookingRepository;
@@ -34,165 +45,276 @@ public class BookingServiceJpaImpl implements BookingService {
 
     private final Validator validator;
 
+    private final BookingPointerService bookingPointerService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final String OVERLAP_CONSTRAINT = "bookings_item_period_excl";
+
+    private static final List<Status> ACTIVE_STATUSES = List.of(Status.WAITING, Status.APPROVED);
+
+    private static final Sort CURSOR_SORT = Sort.by(Sort.Direction.DESC, "end")
+            .and(Sort.by(Sort.Direction.DESC, "id"));
+
+    /**
+     * Строка вещи блокируется до конца транзакции, поэтому проверка пересечения и сохранение
+     * для одной вещи выполняются по очереди, а бронирования разных вещей не мешают друг другу.
+     */
     @Override
-    public Booking createBooking(int userId, BookingDto bookingDto) {
-        if ((validator.validateUser(userId, userRepository)) &&
-                (validator.validateItem(bookingDto.getItemId(), itemRepository))) {
-            if (validateBooking(bookingDto, userId)) {
-                Booking booking = BookingMapper.bookingDtoToBooking(bookingDto);
-                booking.setBooker(userRepository.findById(userId).get());
-                booking.setItem(itemRepository.findById(bookingDto.getItemId()).get());
-                booking.setStatus(Status.WAITING);
-                return bookingRepository.save(booking);
-            } else {
-                log.info("Ошибка валидации бронирования");
+    public BookingResponseDto createBooking(int userId, BookingDto bookingDto) {
+        User booker = validator.getUser(userId, userRepository);
+        Item item = validator.getItemForUpdate(bookingDto.getItemId(), itemRepository);
+        if (validateBooking(bookingDto, userId, item)) {
+            Booking booking = BookingMapper.bookingDtoToBooking(bookingDto);
+            booking.setBooker(booker);
+            booking.setItem(item);
+            booking.setStatus(Status.WAITING);
+            Booking savedBooking;
+            try {
+                savedBooking = bookingRepository.saveAndFlush(booking);
+            } catch (DataIntegrityViolationException e) {
+                if (!isOverlapViolation(e)) {
+                    throw e;
+                }
+                log.info("Вещь с id = " + item.getId() + " уже забронирована на это время");
                 throw new ValidationException();
             }
+            eventPublisher.publishEvent(new BookingSavedEvent(item.getId()));
+            return BookingMapper.bookingToBookingResponseDto(savedBooking);
         } else {
-            throw new UserNotFoundException();
+            log.info("Ошибка валидации бронирования");
+            throw new ValidationException();
         }
     }
 
     @Override
-    public Booking approvedBooking(int userId, int bookingId, boolean isApproved) {
-        if (validator.validateBookingAndItem(bookingId, bookingRepository, itemRepository)) {
-            Booking booking = bookingRepository.findById(bookingId).get();
-            Item item = itemRepository.findById(booking.getItem().getId()).get();
-            if (userId == item.getOwner().getId()) {
-                if (booking.getStatus().equals(Status.WAITING)) {
-                    if (isApproved) {
-                        booking.setStatus(Status.APPROVED);
-                    } else {
-                        booking.setStatus(Status.REJECTED);
-                    }
-                    return bookingRepository.save(booking);
+    public BookingResponseDto approvedBooking(int userId, int bookingId, boolean isApproved) {
+        Booking booking = validator.getBooking(bookingId, bookingRepository);
+        if (userId == booking.getItem().getOwner().getId()) {
+            if (booking.getStatus().equals(Status.WAITING)) {
+                if (isApproved) {
+                    booking.setStatus(Status.APPROVED);
+                    bookingPointerService.onBookingApproved(booking);
                 } else {
-                    log.info("Бронирование уже подтверждено");
-                    throw new BookingApproveException();
+                    booking.setStatus(Status.REJECTED);
                 }
+                Booking savedBooking = bookingRepository.save(booking);
+                eventPublisher.publishEvent(new BookingSavedEvent(booking.getItem().getId()));
+                return BookingMapper.bookingToBookingResponseDto(savedBooking);
             } else {
-                log.info("Ошибка доступа");
-                throw new AccessErrorException();
+                log.info("Бронирование уже подтверждено");
+                throw new BookingApproveException();
             }
         } else {
-            log.info("Бронирование или вещь не найдены");
-            throw new BookingNotFoundException();
+            log.info("Ошибка доступа");
+            throw new AccessErrorException();
         }
     }
 
     @Override
-    public Booking findBookingById(int userId, int bookingId) {
-        if (validator.validateBookingAndItem(bookingId, bookingRepository, itemRepository)) {
-            Booking booking = bookingRepository.findById(bookingId).get();
-            Item item = itemRepository.findById(booking.getItem().getId()).get();
-            if ((userId == booking.getBooker().getId()) ||
-                    (userId == item.getOwner().getId())) {
-                return booking;
-            } else {
-                log.info("Ошибка доступа");
-                throw new AccessErrorException();
-            }
+    public BookingResponseDto findBookingById(int userId, int bookingId) {
+        Booking booking = validator.getBooking(bookingId, bookingRepository);
+        if ((userId == booking.getBooker().getId()) ||
+                (userId == booking.getItem().getOwner().getId())) {
+            return BookingMapper.bookingToBookingResponseDto(booking);
         } else {
-            log.info("Бронирование или вещь не найдены");
-            throw new BookingNotFoundException();
+            log.info("Ошибка доступа");
+            throw new AccessErrorException();
         }
     }
 
     @Override
-    public List<Booking> findBookingByUserId(int userId, String state,  int from, int size) {
-        List<Booking> bookingsByUser = new ArrayList<>();
-        if (userRepository.findById(userId).isPresent()) {
-            if ((from >= 0) && (size > 0)) {
-                Pageable page = PageRequest.of(0, size + from,
-                        Sort.by(Sort.Direction.DESC, "end"));
-                switch (state) {
-                    case "ALL":
-                        bookingsByUser = bookingRepository.findByBookerId(userId, page);
-                        break;
-                    case "CURRENT":
-                        bookingsByUser = bookingRepository.findCurrentByBookerId(userId, page);
-                        break;
-                    case "PAST":
-                        bookingsByUser = bookingRepository.findByBookerIdAndEndIsBefore(userId, LocalDateTime.now(),
-                                page);
-                        break;
-                    case "FUTURE":
-                        bookingsByUser = bookingRepository.findByBookerIdAndStartIsAfter(userId, LocalDateTime.now(),
-                                page);
-                        break;
-                    case "WAITING":
-                        bookingsByUser = bookingRepository.findByBookerIdAndStatus(userId, Status.WAITING,
-                                page);
-                        break;
-                    case "REJECTED":
-                        bookingsByUser = bookingRepository.findByBookerIdAndStatus(userId, Status.REJECTED,
-                                page);
-                        break;
-                    default:
-                        log.info("Параметр state = " + state + " не существует");
-                        throw new UnsupportedStatusException("Unknown state: " + state);
-                }
-                if (bookingsByUser.size() > size) {
-                    return bookingsByUser.subList(from, bookingsByUser.size());
-                } else {
-                    return bookingsByUser;
-                }
+    public List<BookingResponseDto> findBookingByUserId(int userId, String state,  int from, int size) {
+        validator.checkUser(userId, userRepository);
+        if ((from >= 0) && (size > 0)) {
+            Pageable page = OffsetPageRequest.of(from, size,
+                    Sort.by(Sort.Direction.DESC, "end"));
+            return findBookingsByBooker(userId, state, LocalDateTime.now(), page);
+        } else {
+            log.info("Параметры from и size не могут быть меньше 0");
+            throw new ValidationException();
+        }
+    }
+
+    @Override
+    public List<BookingResponseDto> findBookingByOwnerId(int userId, String state,  int from, int size) {
+        validator.checkUser(userId, userRepository);
+        if ((from >= 0) && (size > 0)) {
+            Pageable page = OffsetPageRequest.of(from, size,
+                    Sort.by(Sort.Direction.DESC, "end"));
+            return findBookingsByOwner(userId, state, LocalDateTime.now(), page);
+        } else {
+            log.info("Параметры from и size не могут быть меньше 0");
+            throw new ValidationException();
+        }
+    }
+
+    @Override
+    public BookingPageDto findBookingByUserIdAfterCursor(int userId, String state, String cursor, int size) {
+        validator.checkUser(userId, userRepository);
+        if (size > 0) {
+            Pageable page = OffsetPageRequest.of(0, size + 1, CURSOR_SORT);
+            LocalDateTime now = LocalDateTime.now();
+            List<BookingResponseDto> bookingsByUser;
+            if ((cursor == null) || (cursor.isBlank())) {
+                bookingsByUser = findBookingsByBooker(userId, state, now, page);
             } else {
-                log.info("Параметры from и size не могут быть меньше 0");
-                throw new ValidationException();
+                bookingsByUser = findBookingsByBookerAfterCursor(userId, state,
+                        BookingCursor.decode(cursor), now, page);
             }
+            return toBookingPage(bookingsByUser, size);
         } else {
-            log.info("Пользователь с id = " + userId + " не найден");
-            throw new UserNotFoundException();
+            log.info("Параметр size не может быть меньше 1");
+            throw new ValidationException();
         }
     }
 
     @Override
-    public List<Booking> findBookingByOwnerId(int userId, String state,  int from, int size) {
-        List<Booking> bookingsByOwner = new ArrayList<>();
-        if (userRepository.findById(userId).isPresent()) {
-            if ((from >= 0) && (size > 0)) {
-                Pageable page = PageRequest.of(0, size + from,
-                        Sort.by(Sort.Direction.DESC, "end"));
-                switch (state) {
-                    case "ALL":
-                        bookingsByOwner = bookingRepository.findByOwnerId(userId, page);
-                        break;
-                    case "CURRENT":
-                        bookingsByOwner = bookingRepository.findCurrentByOwnerId(userId, page);
-                        break;
-                    case "PAST":
-                        bookingsByOwner = bookingRepository.findPastByOwnerId(userId, page);
-                        break;
-                    case "FUTURE":
-                        bookingsByOwner = bookingRepository.findFutureByOwnerId(userId, page);
-                        break;
-                    case "WAITING":
-                        bookingsByOwner = bookingRepository.findWaitingByOwnerId(userId, page);
-                        break;
-                    case "REJECTED":
-                        bookingsByOwner = bookingRepository.findRejectedByOwnerId(userId, page);
-                        break;
-                    default:
-                        log.info("Параметр state = " + state + " не существует");
-                        throw new UnsupportedStatusException("Unknown state: " + state);
-                }
-                if (bookingsByOwner.size() > size) {
-                    return bookingsByOwner.subList(from, bookingsByOwner.size());
-                } else {
-                    return bookingsByOwner;
-                }
+    public BookingPageDto findBookingByOwnerIdAfterCursor(int userId, String state, String cursor, int size) {
+        validator.checkUser(userId, userRepository);
+        if (size > 0) {
+            Pageable page = OffsetPageRequest.of(0, size + 1, CURSOR_SORT);
+            LocalDateTime now = LocalDateTime.now();
+            List<BookingResponseDto> bookingsByOwner;
+            if ((cursor == null) || (cursor.isBlank())) {
+                bookingsByOwner = findBookingsByOwner(userId, state, now, page);
             } else {
-                log.info("Параметры from и size не могут быть меньше 0");
-                throw new ValidationException();
+                bookingsByOwner = findBookingsByOwnerAfterCursor(userId, state,
+                        BookingCursor.decode(cursor), now, page);
             }
+            return toBookingPage(bookingsByOwner, size);
         } else {
-            log.info("Пользователь с id = " + userId + " не найден");
-            throw new UserNotFoundException();
+            log.info("Параметр size не может быть меньше 1");
+            throw new ValidationException();
         }
     }
 
-    private boolean validateBooking(BookingDto bookingDto, int userId) {
+    /**
+     * Бронирования читаются курсором базы данных порциями и сразу передаются в consumer,
+     * поэтому память не зависит от их количества.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportBookingsByOwnerId(int userId, Consumer<BookingResponseDto> consumer) {
+        validator.checkUser(userId, userRepository);
+        try (Stream<BookingResponseDto> bookings = bookingRepository.streamByOwnerId(userId)) {
+            bookings.forEach(consumer);
+        }
+    }
+
+    private List<BookingResponseDto> findBookingsByBooker(int userId, String state, LocalDateTime now,
+                                                          Pageable page) {
+        switch (state) {
+            case "ALL":
+                return bookingRepository.findByBookerId(userId, page);
+            case "CURRENT":
+                return bookingRepository.findCurrentByBookerId(userId, now, page);
+            case "PAST":
+                return bookingRepository.findByBookerIdAndEndIsBefore(userId, now, page);
+            case "FUTURE":
+                return bookingRepository.findByBookerIdAndStartIsAfter(userId, now, page);
+            case "WAITING":
+                return bookingRepository.findByBookerIdAndStatus(userId, Status.WAITING, page);
+            case "REJECTED":
+                return bookingRepository.findByBookerIdAndStatus(userId, Status.REJECTED, page);
+            default:
+                log.info("Параметр state = " + state + " не существует");
+                throw new UnsupportedStatusException("Unknown state: " + state);
+        }
+    }
+
+    private List<BookingResponseDto> findBookingsByOwner(int userId, String state, LocalDateTime now,
+                                                         Pageable page) {
+        switch (state) {
+            case "ALL":
+                return bookingRepository.findByOwnerId(userId, page);
+            case "CURRENT":
+                return bookingRepository.findCurrentByOwnerId(userId, now, page);
+            case "PAST":
+                return bookingRepository.findPastByOwnerId(userId, now, page);
+            case "FUTURE":
+                return bookingRepository.findFutureByOwnerId(userId, now, page);
+            case "WAITING":
+                return bookingRepository.findWaitingByOwnerId(userId, page);
+            case "REJECTED":
+                return bookingRepository.findRejectedByOwnerId(userId, page);
+            default:
+                log.info("Параметр state = " + state + " не существует");
+                throw new UnsupportedStatusException("Unknown state: " + state);
+        }
+    }
+
+    private List<BookingResponseDto> findBookingsByBookerAfterCursor(int userId, String state,
+                                                                     BookingCursor cursor, LocalDateTime now,
+                                                                     Pageable page) {
+        switch (state) {
+            case "ALL":
+                return bookingRepository.findByBookerIdAfterCursor(userId, cursor.getEnd(), cursor.getId(), page);
+            case "CURRENT":
+                return bookingRepository.findCurrentByBookerIdAfterCursor(userId, cursor.getEnd(), cursor.getId(),
+                        now, page);
+            case "PAST":
+                return bookingRepository.findPastByBookerIdAfterCursor(userId, cursor.getEnd(), cursor.getId(),
+                        now, page);
+            case "FUTURE":
+                return bookingRepository.findFutureByBookerIdAfterCursor(userId, cursor.getEnd(), cursor.getId(),
+                        now, page);
+            case "WAITING":
+                return bookingRepository.findByBookerIdAndStatusAfterCursor(userId, cursor.getEnd(), cursor.getId(),
+                        Status.WAITING, page);
+            case "REJECTED":
+                return bookingRepository.findByBookerIdAndStatusAfterCursor(userId, cursor.getEnd(), cursor.getId(),
+                        Status.REJECTED, page);
+            default:
+                log.info("Параметр state = " + state + " не существует");
+                throw new UnsupportedStatusException("Unknown state: " + state);
+        }
+    }
+
+    private List<BookingResponseDto> findBookingsByOwnerAfterCursor(int userId, String state,
+                                                                    BookingCursor cursor, LocalDateTime now,
+                                                                    Pageable page) {
+        switch (state) {
+            case "ALL":
+                return bookingRepository.findByOwnerIdAfterCursor(userId, cursor.getEnd(), cursor.getId(), page);
+            case "CURRENT":
+                return bookingRepository.findCurrentByOwnerIdAfterCursor(userId, cursor.getEnd(), cursor.getId(),
+                        now, page);
+            case "PAST":
+                return bookingRepository.findPastByOwnerIdAfterCursor(userId, cursor.getEnd(), cursor.getId(),
+                        now, page);
+            case "FUTURE":
+                return bookingRepository.findFutureByOwnerIdAfterCursor(userId, cursor.getEnd(), cursor.getId(),
+                        now, page);
+            case "WAITING":
+                return bookingRepository.findByOwnerIdAndStatusAfterCursor(userId, cursor.getEnd(), cursor.getId(),
+                        Status.WAITING, page);
+            case "REJECTED":
+                return bookingRepository.findByOwnerIdAndStatusAfterCursor(userId, cursor.getEnd(), cursor.getId(),
+                        Status.REJECTED, page);
+            default:
+                log.info("Параметр state = " + state + " не существует");
+                throw new UnsupportedStatusException("Unknown state: " + state);
+        }
+    }
+
+    /**
+     * Запрос выбирает на одно бронирование больше страницы: курсор возвращается, только если оно нашлось.
+     */
+    private BookingPageDto toBookingPage(List<BookingResponseDto> bookings, int size) {
+        if (bookings.size() <= size) {
+            return BookingPageDto.builder()
+                    .bookings(bookings)
+                    .build();
+        }
+        List<BookingResponseDto> pageBookings = bookings.subList(0, size);
+        return BookingPageDto.builder()
+                .bookings(pageBookings)
+                .nextCursor(BookingCursor.of(pageBookings.get(size - 1)).encode())
+                .build();
+    }
+
+    private boolean validateBooking(BookingDto bookingDto, int userId, Item item) {
         boolean isValid = false;
         if ((bookingDto.getStart() != null) && (bookingDto.getEnd() != null)) {
             if ((bookingDto.getStart().isBefore(bookingDto.getEnd())) &&
@@ -200,7 +322,6 @@ public class BookingServiceJpaImpl implements BookingService {
                     (bookingDto.getEnd().isAfter(LocalDateTime.now())) &&
                     (!bookingDto.getEnd().equals(bookingDto.getStart()))) {
                 isValid = true;
-                Item item = itemRepository.findById(bookingDto.getItemId()).get();
                 if (item.getOwner().getId() == userId) {
                     log.info("Владелец не может бронировать свою вещь");
                     throw new BookingNotFoundException();
@@ -209,7 +330,7 @@ public class BookingServiceJpaImpl implements BookingService {
                     log.info("Вещь не доступна для бронирования");
                     throw new ItemNotAvailableException();
                 }
-                if (!validateTimeOfBooking(bookingDto)) {
+                if (!validateTimeOfBooking(bookingDto, item)) {
                    return false;
                 }
             }
@@ -217,23 +338,21 @@ public class BookingServiceJpaImpl implements BookingService {
         return isValid;
     }
 
-    private boolean validateTimeOfBooking(BookingDto bookingDto) {
-        List<Booking> bookingsByItemId = bookingRepository.findByItemId(bookingDto.getItemId());
-        if (bookingsByItemId.isEmpty())  {
-            return true;
-        } else {
-            for (Booking booking : bookingsByItemId) {
-                if (((bookingDto.getEnd().isAfter(booking.getStart())) &&
-                        (bookingDto.getEnd().isBefore(booking.getEnd())) &&
-                        (bookingDto.getEnd().equals(booking.getEnd()))) ||
-                        ((bookingDto.getStart().isAfter(booking.getStart())) &&
-                                (bookingDto.getStart().isBefore(booking.getStart())) &&
-                                (bookingDto.getStart().equals(booking.getStart())))) {
-                    return false;
-                }
-            }
-            return true;
+    private boolean validateTimeOfBooking(BookingDto bookingDto, Item item) {
+        if (bookingRepository.existsByItemIdAndStartIsBeforeAndEndIsAfterAndStatusIn(item.getId(),
+                bookingDto.getEnd(), bookingDto.getStart(), ACTIVE_STATUSES)) {
+            log.info("Вещь с id = " + item.getId() + " уже забронирована на это время");
+            return false;
         }
+        return true;
+    }
+
+    /**
+     * Hibernate не извлекает имя нарушенного ограничения-исключения PostgreSQL, поэтому оно ищется в сообщении драйвера.
+     */
+    private static boolean isOverlapViolation(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return (message != null) && (message.contains(OVERLAP_CONSTRAINT));
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,190 @@
+package ru.practicum.shareit.item.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.event.BookingSavedEvent;
+import ru.practicum.shareit.item.comment.event.CommentSavedEvent;
+import ru.practicum.shareit.item.dto.ItemViewDto;
+import ru.practicum.shareit.item.event.BookingPointersChangedEvent;
+import ru.practicum.shareit.item.event.ItemRemovedEvent;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Готовые ответы GET /items/{id} вместе с ETag: отдельно для владельца (с бронированиями) и для остальных пользователей.
+ * Запись удаляется после коммита изменений вещи, бронирований, ссылок на бронирования и комментариев.
+ * Вид владельца хранится не дольше начала следующего бронирования: в этот момент оно становится последним.
+ */
+@Slf4j
+@Component
+public class ItemViewCache {
+
+    private static final int VERSION_STRIPES = 4096;
+
+    private final boolean enabled;
+
+    private final Duration timeToLive;
+
+    private final Cache<Integer, CachedView> ownerViews;
+
+    private final Cache<Integer, CachedView> publicViews;
+
+    /**
+     * Номера изменений по вещам. Вещи с одинаковым остатком id делят номер: изменение одной из них
+     * только не дает сохранить ответ для другой, а память не растет с числом вещей.
+     */
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    @Autowired
+    public ItemViewCache(@Value("${shareit.item-view-cache.enabled:true}") boolean enabled,
+                         @Value("${shareit.item-view-cache.maximum-size:10000}") long maximumSize,
+                         @Value("${shareit.item-view-cache.time-to-live:10m}") Duration timeToLive) {
+        this(enabled, maximumSize, timeToLive, Ticker.systemTicker());
+    }
+
+    ItemViewCache(boolean enabled, long maximumSize, Duration timeToLive, Ticker ticker) {
+        this.enabled = enabled;
+        this.timeToLive = timeToLive;
+        this.ownerViews = buildCache(maximumSize, ticker);
+        this.publicViews = buildCache(maximumSize, ticker);
+    }
+
+    /**
+     * Возвращает сохраненный ответ для пользователя или null, если его нужно построить заново.
+     */
+    public ItemViewDto get(int itemId, int userId) {
+        if (!enabled) {
+            return null;
+        }
+        CachedView ownerView = ownerViews.getIfPresent(itemId);
+        if ((ownerView != null) && (ownerView.getView().getOwnerId() == userId)) {
+            return ownerView.getView();
+        }
+        CachedView publicView = publicViews.getIfPresent(itemId);
+        if ((publicView != null) && (publicView.getView().getOwnerId() != userId)) {
+            return publicView.getView();
+        }
+        return null;
+    }
+
+    /**
+     * Номер изменения вещи, который нужно получить до чтения данных из базы и передать в put.
+     * Если за время построения ответа вещь изменилась, ответ не сохраняется.
+     */
+    public long version(int itemId) {
+        return versions.get(stripe(itemId));
+    }
+
+    public void putOwnerView(int itemId, ItemViewDto view, long observedVersion) {
+        Duration expiresAfter = timeToLive;
+        if (view.getItem().getNextBooking() != null) {
+            Duration untilNextBooking = Duration.between(LocalDateTime.now(),
+                    view.getItem().getNextBooking().getStart());
+            if (untilNextBooking.isNegative() || untilNextBooking.isZero()) {
+                return;
+            }
+            if (untilNextBooking.compareTo(expiresAfter) < 0) {
+                expiresAfter = untilNextBooking;
+            }
+        }
+        put(ownerViews, itemId, new CachedView(view, expiresAfter.toNanos()), observedVersion);
+    }
+
+    public void putPublicView(int itemId, ItemViewDto view, long observedVersion) {
+        put(publicViews, itemId, new CachedView(view, timeToLive.toNanos()), observedVersion);
+    }
+
+    @TransactionalEventListener
+    public void onItemSaved(ItemSavedEvent event) {
+        evict(event.getItem().getId());
+    }
+
+    @TransactionalEventListener
+    public void onItemRemoved(ItemRemovedEvent event) {
+        evict(event.getItemId());
+    }
+
+    @TransactionalEventListener
+    public void onBookingSaved(BookingSavedEvent event) {
+        evict(event.getItemId());
+    }
+
+    @TransactionalEventListener
+    public void onBookingPointersChanged(BookingPointersChangedEvent event) {
+        evict(event.getItemId());
+    }
+
+    @TransactionalEventListener
+    public void onCommentSaved(CommentSavedEvent event) {
+        evict(event.getItemId());
+    }
+
+    public void evict(int itemId) {
+        if (enabled) {
+            versions.incrementAndGet(stripe(itemId));
+            ownerViews.invalidate(itemId);
+            publicViews.invalidate(itemId);
+            log.debug("Ответ для вещи с id = {} удален из кэша", itemId);
+        }
+    }
+
+    private void put(Cache<Integer, CachedView> views, int itemId, CachedView view, long observedVersion) {
+        if (enabled) {
+            views.asMap().compute(itemId, (id, current) -> version(itemId) == observedVersion ? view : current);
+        }
+    }
+
+    private static int stripe(int itemId) {
+        return Math.floorMod(itemId, VERSION_STRIPES);
+    }
+
+    private static Cache<Integer, CachedView> buildCache(long maximumSize, Ticker ticker) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new CachedViewExpiry())
+                .ticker(ticker)
+                .build();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class CachedView {
+
+        private final ItemViewDto view;
+
+        private final long expiresAfterNanos;
+
+    }
+
+    private static class CachedViewExpiry implements Expiry<Integer, CachedView> {
+
+        @Override
+        public long expireAfterCreate(Integer itemId, CachedView view, long currentTime) {
+            return view.getExpiresAfterNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Integer itemId, CachedView view, long currentTime, long currentDuration) {
+            return view.getExpiresAfterNanos();
+        }
+
+        @Override
+        public long expireAfterRead(Integer itemId, CachedView view, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+    }
+
+}
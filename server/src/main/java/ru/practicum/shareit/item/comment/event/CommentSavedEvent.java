@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.comment.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class CommentSavedEvent {
+
+    private final int itemId;
+
+}
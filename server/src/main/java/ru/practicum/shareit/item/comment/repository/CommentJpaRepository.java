@@ -2,12 +2,22 @@ package ru.practicum.shareit.item.comment.repository;
 
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.comment.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentJpaRepository extends JpaRepository<Comment, Integer> {
 
+    @Query(" select c from Comment c " +
+            "join fetch c.author " +
+            "where c.item.id = ?1")
     List<Comment> findByItemId(int itemId, Sort sort);
 
+    @Query(" select c from Comment c " +
+            "join fetch c.author " +
+            "where c.item.id in ?1")
+    List<Comment> findByItemIdIn(Collection<Integer> itemIds, Sort sort);
+
 }
\ No newline at end of file
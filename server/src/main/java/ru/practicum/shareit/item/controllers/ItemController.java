@@ -3,12 +3,16 @@ package ru.practicum.shareit.item.controllers;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemViewDto;
 import ru.practicum.shareit.item.service.ItemServiceJpaImpl;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
 
 /**
@@ -24,6 +28,11 @@ public class ItemController {
 
     private static final String HEADER = "X-Sharer-User-Id";
 
+    /**
+     * Владелец вещи: по нему шлюз объединяет одновременные запросы пользователей, которым вещь видна одинаково.
+     */
+    private static final String OWNER_HEADER = "X-Sharer-Owner-Id";
+
     @Autowired
     public ItemController(ItemServiceJpaImpl itemService) {
         this.itemService = itemService;
@@ -47,6 +56,14 @@ public class ItemController {
         return itemService.createItem(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    public ItemBatchResultDto createBatch(@RequestHeader(HEADER) int userId, @RequestBody List<ItemDto> itemDtos,
+                                          HttpServletRequest request) {
+        log.info("Получен запрос к эндпоинту: '{} {}', Строка параметров запроса: '{}'",
+                request.getMethod(), request.getRequestURI(), request.getQueryString());
+        return itemService.createItems(userId, itemDtos);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto change(@RequestHeader(HEADER) int userId, @PathVariable int itemId,
                           @RequestBody ItemDto itemDto, HttpServletRequest request) {
@@ -57,10 +74,15 @@ public class ItemController {
 
     @GetMapping("/{itemId}")
     public ItemDto getItem(@RequestHeader(HEADER) int userId, @PathVariable int itemId,
-                           HttpServletRequest request) {
+                           HttpServletRequest request, HttpServletResponse response, WebRequest webRequest) {
         log.info("Получен запрос к эндпоинту: '{} {}', Строка параметров запроса: '{}'",
                 request.getMethod(), request.getRequestURI(), request.getQueryString());
-        return itemService.findItemById(userId, itemId);
+        ItemViewDto view = itemService.findItemView(userId, itemId);
+        response.setHeader(OWNER_HEADER, String.valueOf(view.getOwnerId()));
+        if (webRequest.checkNotModified(view.getEtag())) {
+            return null;
+        }
+        return view.getItem();
     }
 
     @DeleteMapping("/{itemId}")
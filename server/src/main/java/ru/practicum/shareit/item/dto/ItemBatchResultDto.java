@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Результат пакетного создания вещей: id созданных вещей в порядке запроса
+ * и ошибки по позициям вещей, которые не прошли проверку.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemBatchResultDto {
+
+    private List<Integer> created;
+
+    private List<ItemBatchErrorDto> errors;
+
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Поля вещи, которые выбираются запросами списков без загрузки владельца и запроса.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemShortDto {
+
+    private Integer id;
+
+    private String name;
+
+    private String description;
+
+    private Boolean available;
+
+    private Integer requestId;
+
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Ответ GET /items/{id} вместе с его ETag и владельцем вещи, вычисленные по одной загрузке вещи.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ItemViewDto {
+
+    private final String etag;
+
+    private final int ownerId;
+
+    private final ItemDto item;
+
+}
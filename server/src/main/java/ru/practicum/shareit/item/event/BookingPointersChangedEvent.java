@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class BookingPointersChangedEvent {
+
+    private final int itemId;
+
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class ItemRemovedEvent {
+
+    private final int itemId;
+
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.item.model.Item;
+
+@Getter
+@RequiredArgsConstructor
+public class ItemSavedEvent {
+
+    private final Item item;
+
+}
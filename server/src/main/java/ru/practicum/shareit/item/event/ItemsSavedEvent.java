@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+public class ItemsSavedEvent {
+
+    private final List<Item> items;
+
+}
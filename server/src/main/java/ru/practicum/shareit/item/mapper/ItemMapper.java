@@ -1,9 +1,12 @@
 package ru.practicum.shareit.item.mapper;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.pointer.BookingPointers;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
@@ -87,6 +90,31 @@ public class ItemMapper {
         }
     }
 
+    public static ItemDto itemToItemDtoWithBookings(Item item, BookingPointers pointers, List<CommentDto> comments) {
+        return itemToItemDtoWithBookings(item,
+                pointers.getLastBooking() == null ? null : BookingMapper.bookingToBookingDto(pointers.getLastBooking()),
+                pointers.getNextBooking() == null ? null : BookingMapper.bookingToBookingDto(pointers.getNextBooking()),
+                comments);
+    }
+
+    public static ItemDto itemShortDtoToItemDto(ItemShortDto item, List<CommentDto> comments) {
+        return itemShortDtoToItemDtoWithBookings(item, null, null, comments);
+    }
+
+    public static ItemDto itemShortDtoToItemDtoWithBookings(ItemShortDto item, BookingDto lastBooking,
+                                                            BookingDto nextBooking, List<CommentDto> comments) {
+        return ItemDto.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .requestId(item.getRequestId())
+                .lastBooking(lastBooking)
+                .nextBooking(nextBooking)
+                .comments(comments)
+                .build();
+    }
+
     public static Item itemDtoToItem(ItemDto itemDto, User user, ItemRequest request) {
         return Item.builder()
                 .id(itemDto.getId())
@@ -106,4 +134,17 @@ public class ItemMapper {
         return itemDtos;
     }
 
+    public static String itemToETag(Item item) {
+        return "W/\"item-" + item.getId() + "-" + item.getVersion() + "-public\"";
+    }
+
+    /**
+     * Владелец видит ссылки на бронирования, которые могут измениться без записи в вещь, поэтому они входят в метку.
+     */
+    public static String itemToOwnerETag(Item item, BookingPointers pointers) {
+        return "W/\"item-" + item.getId() + "-" + item.getVersion() + "-owner-"
+                + (pointers.getLastBooking() == null ? 0 : pointers.getLastBooking().getId()) + "-"
+                + (pointers.getNextBooking() == null ? 0 : pointers.getNextBooking().getId()) + "\"";
+    }
+
 }
\ No newline at end of file
@@ -1,6 +1,11 @@
 package ru.practicum.shareit.item.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
@@ -17,10 +22,14 @@ import java.util.Map;
 @NoArgsConstructor
 @Entity
 @Table(name = "items")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "items")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     @Column(name = "item_id")
     private Integer id;
 
@@ -33,14 +42,46 @@ public class Item {
     @Column(nullable = false)
     private Boolean available;
 
-    @OneToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id", referencedColumnName = "user_id")
     private User owner;
 
-    @OneToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id", referencedColumnName = "request_id", nullable = true)
     private ItemRequest itemRequest;
 
+    /**
+     * Последнее начавшееся подтвержденное бронирование, поддерживается при записи.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "last_booking_id", referencedColumnName = "booking_id")
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Booking lastBooking;
+
+    /**
+     * Ближайшее будущее подтвержденное бронирование, поддерживается при записи.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "next_booking_id", referencedColumnName = "booking_id")
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Booking nextBooking;
+
+    /**
+     * Номер изменения для оптимистичной блокировки, из него строится ETag ответа.
+     */
+    @Version
+    @JsonIgnore
+    private int version;
+
+    public Item(Integer id, String name, String description, Boolean available, User owner,
+                ItemRequest itemRequest) {
+        this(id, name, description, available, owner, itemRequest, null, null, 0);
+    }
+
     public Map<String, Object> toMap() {
         return Map.of("name", name,
                 "description", description,
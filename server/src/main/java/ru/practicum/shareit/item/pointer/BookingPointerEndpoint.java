@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.pointer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Проверка ссылок вещей на бронирования на рабочих данных: GET /actuator/bookingpointers
+ * возвращает расхождения, POST /actuator/bookingpointers пересчитывает ссылки у найденных вещей.
+ */
+@Component
+@Endpoint(id = "bookingpointers")
+@RequiredArgsConstructor
+public class BookingPointerEndpoint {
+
+    private static final int LIMIT = 1000;
+
+    private final BookingPointerService bookingPointerService;
+
+    @ReadOperation
+    public Map<String, Object> check() {
+        return report(bookingPointerService.findInconsistentItemIds(LIMIT));
+    }
+
+    @WriteOperation
+    public Map<String, Object> repair() {
+        return report(bookingPointerService.repair(LIMIT));
+    }
+
+    private static Map<String, Object> report(List<Integer> itemIds) {
+        return Map.of("inconsistent", itemIds.size(), "itemIds", itemIds);
+    }
+
+}
@@ -0,0 +1,195 @@
+package ru.practicum.shareit.item.pointer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingJpaRepository;
+import ru.practicum.shareit.exception.ItemNotFoundException;
+import ru.practicum.shareit.item.event.BookingPointersChangedEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemJpaRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Поддерживает ссылки вещи на последнее и следующее подтвержденные бронирования.
+ * Ссылки меняются при подтверждении бронирования под блокировкой строки вещи,
+ * а когда следующее бронирование начинается, фоновая задача сдвигает его в последние.
+ * Чтение ссылки не пишет: до запуска задачи начавшееся бронирование учитывается в памяти.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class BookingPointerService {
+
+    private static final int ROLL_FORWARD_BATCH_SIZE = 500;
+
+    private final ItemJpaRepository itemRepository;
+
+    private final BookingJpaRepository bookingRepository;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Учитывает только что подтвержденное бронирование без пересчета по всем бронированиям вещи.
+     */
+    public void onBookingApproved(Booking booking) {
+        if (booking.getStatus() != Status.APPROVED) {
+            return;
+        }
+        Item item = booking.getItem();
+        entityManager.refresh(item, LockModeType.PESSIMISTIC_WRITE);
+        LocalDateTime now = LocalDateTime.now();
+        if (booking.getStart().isAfter(now)) {
+            if (isEarlier(booking, item.getNextBooking())) {
+                item.setNextBooking(booking);
+            }
+        } else if (booking.getStart().isBefore(now)) {
+            if (isLater(booking, item.getLastBooking())) {
+                item.setLastBooking(booking);
+            }
+        }
+    }
+
+    /**
+     * Пересчитывает обе ссылки вещи по таблице бронирований. Строка вещи должна быть заблокирована.
+     */
+    public void refresh(Item item) {
+        refresh(item, LocalDateTime.now());
+    }
+
+    public Item refresh(int itemId) {
+        return refresh(itemId, LocalDateTime.now());
+    }
+
+    /**
+     * Ссылки вещи для ответа. Следующее бронирование могло начаться до запуска фоновой задачи:
+     * тогда ссылки вычисляются по таблице бронирований, а сохраненные не меняются.
+     */
+    @Transactional(readOnly = true)
+    public BookingPointers current(Item item) {
+        if ((item.getNextBooking() != null) && (!item.getNextBooking().getStart().isAfter(LocalDateTime.now()))) {
+            return compute(item.getId());
+        }
+        return new BookingPointers(item.getLastBooking(), item.getNextBooking());
+    }
+
+    @Transactional(readOnly = true)
+    public BookingPointers compute(int itemId) {
+        return compute(itemId, LocalDateTime.now());
+    }
+
+    /**
+     * Ссылки вещи на момент {@code now}: так поиск расхождений и пересчет сравнивают с одним и тем же временем.
+     */
+    @Transactional(readOnly = true)
+    public BookingPointers compute(int itemId, LocalDateTime now) {
+        return new BookingPointers(bookingRepository.findLastBookingForItem(itemId, now).orElse(null),
+                bookingRepository.findNextBookingForItem(itemId, now).orElse(null));
+    }
+
+    /**
+     * Каждая пачка вещей обрабатывается в своей транзакции, чтобы не держать блокировки всех строк до конца задачи.
+     */
+    @Scheduled(fixedDelayString = "${shareit.booking-pointers.roll-forward-delay:60000}",
+            initialDelayString = "${shareit.booking-pointers.roll-forward-delay:60000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rollForward() {
+        Set<Integer> processed = new HashSet<>();
+        boolean hasMore;
+        do {
+            hasMore = Boolean.TRUE.equals(transactionTemplate.execute(status -> rollForwardBatch(processed)));
+        } while (hasMore);
+        if (!processed.isEmpty()) {
+            log.info("Обновлены ссылки на бронирования у {} вещей", processed.size());
+        }
+        return processed.size();
+    }
+
+    /**
+     * Вещи, у которых сохраненные ссылки расходятся с вычисленными по таблице бронирований.
+     * Вещи с уже начавшимся следующим бронированием не учитываются: их обработает фоновая задача.
+     */
+    @Transactional(readOnly = true)
+    public List<Integer> findInconsistentItemIds(int limit) {
+        return itemRepository.findItemIdsWithStaleBookingPointers(LocalDateTime.now(), limit);
+    }
+
+    /**
+     * Расхождение могло появиться в обход Hibernate, поэтому вещь сначала удаляется из кэша второго уровня.
+     */
+    public List<Integer> repair(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Integer> itemIds = itemRepository.findItemIdsWithStaleBookingPointers(now, limit);
+        itemIds.forEach(itemId -> {
+            entityManager.getEntityManagerFactory().getCache().evict(Item.class, itemId);
+            refresh(itemId, now);
+            eventPublisher.publishEvent(new BookingPointersChangedEvent(itemId));
+        });
+        if (!itemIds.isEmpty()) {
+            log.warn("Исправлены ссылки на бронирования у вещей {}", itemIds);
+        }
+        return itemIds;
+    }
+
+    private boolean rollForwardBatch(Set<Integer> processed) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Item> items = itemRepository.findWithStartedNextBooking(now, PageRequest.of(0, ROLL_FORWARD_BATCH_SIZE));
+        boolean progressed = false;
+        for (Item item : items) {
+            if (processed.add(item.getId())) {
+                refresh(item, now);
+                eventPublisher.publishEvent(new BookingPointersChangedEvent(item.getId()));
+                progressed = true;
+            }
+        }
+        return progressed && (items.size() == ROLL_FORWARD_BATCH_SIZE);
+    }
+
+    private Item refresh(int itemId, LocalDateTime now) {
+        Item item = itemRepository.findByIdForUpdate(itemId).orElseThrow(ItemNotFoundException::new);
+        refresh(item, now);
+        return item;
+    }
+
+    private void refresh(Item item, LocalDateTime now) {
+        BookingPointers pointers = compute(item.getId(), now);
+        item.setLastBooking(pointers.getLastBooking());
+        item.setNextBooking(pointers.getNextBooking());
+    }
+
+    private static boolean isEarlier(Booking booking, Booking current) {
+        if (current == null) {
+            return true;
+        }
+        int compared = booking.getStart().compareTo(current.getStart());
+        return (compared < 0) || ((compared == 0) && (booking.getId() < current.getId()));
+    }
+
+    private static boolean isLater(Booking booking, Booking current) {
+        if (current == null) {
+            return true;
+        }
+        int compared = booking.getEnd().compareTo(current.getEnd());
+        return (compared > 0) || ((compared == 0) && (booking.getId() > current.getId()));
+    }
+
+}
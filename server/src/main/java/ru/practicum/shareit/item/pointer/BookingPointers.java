@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.pointer;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.booking.model.Booking;
+
+/**
+ * Последнее и следующее подтвержденные бронирования вещи на момент чтения.
+ */
+@Getter
+@RequiredArgsConstructor
+public class BookingPointers {
+
+    private final Booking lastBooking;
+
+    private final Booking nextBooking;
+
+}
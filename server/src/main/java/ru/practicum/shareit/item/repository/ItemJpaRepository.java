@@ -1,25 +1,94 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
 public interface ItemJpaRepository extends JpaRepository<Item, Integer> {
 
-    @Query(" select i from Item i " +
-            "where (upper(i.name) like upper(concat('%', ?1, '%')) " +
-            "or upper(i.description) like upper(concat('%', ?1, '%')))" +
+    /**
+     * Подстрока ищется буквально, как в ItemSearchIndex: символы % и _ в тексте экранируются.
+     */
+    @Query(" select new ru.practicum.shareit.item.dto.ItemShortDto(i.id, i.name, i.description, i.available, r.id) " +
+            "from Item i " +
+            "left join i.itemRequest r " +
+            "where (upper(i.name) like upper(concat('%', ?#{escape([0])}, '%')) escape ?#{escapeCharacter()} " +
+            "or upper(i.description) like upper(concat('%', ?#{escape([0])}, '%')) escape ?#{escapeCharacter()})" +
             " and (i.available = true)")
-    List<Item> search(String text, Pageable page);
+    List<ItemShortDto> search(String text, Pageable page);
 
-    @Query(" select i from Item i " +
+    @Query(" select new ru.practicum.shareit.item.dto.ItemShortDto(i.id, i.name, i.description, i.available, r.id) " +
+            "from Item i " +
+            "left join i.itemRequest r " +
             "where i.owner.id = ?1")
-    List<Item> findAll(int userId, Pageable page);
+    List<ItemShortDto> findAll(int userId, Pageable page);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     @Query(" select i from Item i " +
             "where i.itemRequest.id = ?1")
     List<Item> findByRequestId(Integer id);
+
+    @Query(" select i from Item i " +
+            "where i.id > ?1 " +
+            "order by i.id")
+    List<Item> findAfterId(int id, Pageable page);
+
+    @Query(" select new ru.practicum.shareit.item.dto.ItemShortDto(i.id, i.name, i.description, i.available, r.id) " +
+            "from Item i " +
+            "join i.itemRequest r " +
+            "where r.id in ?1 " +
+            "order by i.id")
+    List<ItemShortDto> findByRequestIdIn(Collection<Integer> requestIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(" select i from Item i " +
+            "where i.id = ?1")
+    Optional<Item> findByIdForUpdate(int id);
+
+    @EntityGraph(attributePaths = {"lastBooking", "nextBooking"})
+    @Query(" select i from Item i " +
+            "where i.id = ?1")
+    Optional<Item> findWithBookingsById(int id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(" select i from Item i " +
+            "join fetch i.nextBooking b " +
+            "where b.start <= ?1 " +
+            "order by i.id")
+    List<Item> findWithStartedNextBooking(LocalDateTime now, Pageable page);
+
+    @Query(value = "select cast(i.item_id as integer) from items i " +
+            "where ((coalesce(i.last_booking_id, 0) <> coalesce((select b.booking_id from bookings b " +
+            "where (b.item_id = i.item_id) " +
+            "and (b.start_date < ?1) " +
+            "and (b.status = 'APPROVED') " +
+            "order by b.end_date desc, b.booking_id desc " +
+            "limit 1), 0)) " +
+            "or (coalesce(i.next_booking_id, 0) <> coalesce((select b.booking_id from bookings b " +
+            "where (b.item_id = i.item_id) " +
+            "and (b.start_date > ?1) " +
+            "and (b.status = 'APPROVED') " +
+            "order by b.start_date asc, b.booking_id asc " +
+            "limit 1), 0))) " +
+            "and not exists (select 1 from bookings nb " +
+            "where (nb.booking_id = i.next_booking_id) " +
+            "and (nb.start_date <= ?1)) " +
+            "order by i.item_id " +
+            "limit ?2", nativeQuery = true)
+    List<Integer> findItemIdsWithStaleBookingPointers(LocalDateTime now, int limit);
+
 }
@@ -0,0 +1,301 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.event.ItemRemovedEvent;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
+import ru.practicum.shareit.item.event.ItemsSavedEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemJpaRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Индекс вещей в памяти для поиска по подстроке в названии и описании.
+ * Списки id хранятся по триграммам текста, найденные кандидаты проверяются на полное вхождение строки.
+ * При запуске индекс строится без блокировки по страницам id > последнего прочитанного и подменяет
+ * текущий под блокировкой записи. Изменения вещей, пришедшие во время построения, повторяются на новом индексе.
+ */
+@Slf4j
+@Component
+public class ItemSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final ItemJpaRepository itemRepository;
+
+    private final boolean enabled;
+
+    private final int rebuildBatchSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Index index = new Index();
+
+    private List<Consumer<Index>> pendingChanges;
+
+    private volatile boolean ready;
+
+    public ItemSearchIndex(ItemJpaRepository itemRepository,
+                           @Value("${shareit.item-search.in-memory:true}") boolean enabled,
+                           @Value("${shareit.item-search.rebuild-batch-size:1000}") int rebuildBatchSize) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled && ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Index rebuilt;
+        try {
+            rebuilt = load();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        int indexedItems;
+        lock.writeLock().lock();
+        try {
+            pendingChanges.forEach(change -> change.accept(rebuilt));
+            pendingChanges = null;
+            index = rebuilt;
+            indexedItems = rebuilt.items.size();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Индекс поиска вещей построен, вещей в индексе: {}", indexedItems);
+    }
+
+    @TransactionalEventListener
+    public void onItemSaved(ItemSavedEvent event) {
+        if (enabled) {
+            IndexedItem indexedItem = new IndexedItem(event.getItem());
+            apply(current -> current.put(indexedItem));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onItemsSaved(ItemsSavedEvent event) {
+        if (enabled) {
+            List<IndexedItem> indexedItems = new ArrayList<>();
+            event.getItems().forEach(item -> indexedItems.add(new IndexedItem(item)));
+            apply(current -> indexedItems.forEach(current::put));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onItemRemoved(ItemRemovedEvent event) {
+        if (enabled) {
+            int itemId = event.getItemId();
+            apply(current -> current.delete(itemId));
+        }
+    }
+
+    public List<ItemDto> search(String text, int from, int size) {
+        String query = text.toUpperCase(Locale.ROOT);
+        List<ItemDto> searchedItems = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            int skipped = 0;
+            for (IndexedItem item : index.candidates(query)) {
+                if (searchedItems.size() == size) {
+                    break;
+                }
+                if (item.matches(query)) {
+                    if (skipped < from) {
+                        skipped++;
+                    } else {
+                        searchedItems.add(item.toItemDto());
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return searchedItems;
+    }
+
+    /**
+     * Читает вещи страницами по id без подсчета строк: каждая страница начинается после последнего прочитанного id.
+     */
+    private Index load() {
+        Index loaded = new Index();
+        int lastId = 0;
+        List<Item> batch;
+        do {
+            batch = itemRepository.findAfterId(lastId, PageRequest.of(0, rebuildBatchSize));
+            batch.forEach(item -> loaded.put(new IndexedItem(item)));
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == rebuildBatchSize);
+        return loaded;
+    }
+
+    /**
+     * Применяет изменение к текущему индексу и, если индекс сейчас строится, запоминает его для нового.
+     */
+    private void apply(Consumer<Index> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static final class Index {
+
+        private final Map<Long, IntPostingList> postings = new HashMap<>();
+
+        private final NavigableMap<Integer, IndexedItem> items = new TreeMap<>();
+
+        private Iterable<IndexedItem> candidates(String query) {
+            if (query.length() < GRAM_LENGTH) {
+                return items.values();
+            }
+            List<IntPostingList> lists = new ArrayList<>();
+            for (long gram : grams(query)) {
+                IntPostingList list = postings.get(gram);
+                if (list == null) {
+                    return new ArrayList<>();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(IntPostingList::size));
+            IntPostingList smallest = lists.get(0);
+            List<IndexedItem> candidates = new ArrayList<>();
+            for (int i = 0; i < smallest.size(); i++) {
+                int id = smallest.get(i);
+                boolean inAll = true;
+                for (int j = 1; (j < lists.size()) && inAll; j++) {
+                    inAll = lists.get(j).contains(id);
+                }
+                if (inAll) {
+                    candidates.add(items.get(id));
+                }
+            }
+            return candidates;
+        }
+
+        private void put(IndexedItem indexedItem) {
+            delete(indexedItem.id);
+            items.put(indexedItem.id, indexedItem);
+            for (long gram : indexedItem.grams()) {
+                postings.computeIfAbsent(gram, key -> new IntPostingList()).add(indexedItem.id);
+            }
+        }
+
+        private void delete(int itemId) {
+            IndexedItem indexedItem = items.remove(itemId);
+            if (indexedItem != null) {
+                for (long gram : indexedItem.grams()) {
+                    IntPostingList list = postings.get(gram);
+                    list.remove(itemId);
+                    if (list.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+
+    }
+
+    private static Set<Long> grams(String text) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    private static final class IndexedItem {
+
+        private final Integer id;
+
+        private final String name;
+
+        private final String description;
+
+        private final Boolean available;
+
+        private final Integer requestId;
+
+        private final String upperName;
+
+        private final String upperDescription;
+
+        private IndexedItem(Item item) {
+            this.id = item.getId();
+            this.name = item.getName();
+            this.description = item.getDescription();
+            this.available = item.getAvailable();
+            this.requestId = item.getItemRequest() == null ? null : item.getItemRequest().getId();
+            this.upperName = name.toUpperCase(Locale.ROOT);
+            this.upperDescription = description.toUpperCase(Locale.ROOT);
+        }
+
+        private boolean matches(String query) {
+            return available && (upperName.contains(query) || upperDescription.contains(query));
+        }
+
+        private Set<Long> grams() {
+            Set<Long> grams = ItemSearchIndex.grams(upperName);
+            grams.addAll(ItemSearchIndex.grams(upperDescription));
+            return grams;
+        }
+
+        private ItemDto toItemDto() {
+            return ItemDto.builder()
+                    .id(id)
+                    .name(name)
+                    .description(description)
+                    .available(available)
+                    .requestId(requestId)
+                    .comments(new ArrayList<>())
+                    .build();
+        }
+
+    }
+
+}
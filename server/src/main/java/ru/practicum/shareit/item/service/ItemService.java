@@ -2,7 +2,9 @@ package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemViewDto;
 
 import java.util.List;
 
@@ -13,10 +15,17 @@ public interface ItemService {
 
     ItemDto createItem(int userId, ItemDto itemDto);
 
+    ItemBatchResultDto createItems(int userId, List<ItemDto> itemDtos);
+
     ItemDto changeItem(int userId, int id, ItemDto itemDto);
 
     ItemDto findItemById(int userId, int id);
 
+    /**
+     * Ответ findItemById вместе с ETag и id владельца: владелец и остальные пользователи видят вещь по-разному.
+     */
+    ItemViewDto findItemView(int userId, int id);
+
     void removeItem(int userId, int id);
 
     List<ItemDto> getSearchedItems(String searchRequest,  int from, int size);
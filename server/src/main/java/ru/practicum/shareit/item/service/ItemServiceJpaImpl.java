@@ -2,7 +2,9 @@ package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
@@ -13,24 +15,44 @@ import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingJpaRepository;
 import ru.practicum.shareit.exception.ItemNotFoundException;
-import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.cache.ItemViewCache;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
+import ru.practicum.shareit.item.comment.event.CommentSavedEvent;
 import ru.practicum.shareit.item.comment.mapper.CommentMapper;
 import ru.practicum.shareit.item.comment.model.Comment;
 import ru.practicum.shareit.item.comment.repository.CommentJpaRepository;
+import ru.practicum.shareit.item.dto.ItemBatchErrorDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.dto.ItemViewDto;
+import ru.practicum.shareit.item.event.ItemRemovedEvent;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
+import ru.practicum.shareit.item.event.ItemsSavedEvent;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.pointer.BookingPointerService;
+import ru.practicum.shareit.item.pointer.BookingPointers;
 import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.RequestJpaRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserJpaRepository;
 import ru.practicum.shareit.validator.Validator;
 
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -50,24 +72,28 @@ public class ItemServiceJpaImpl implements ItemService {
 
     private final Validator validator;
 
+    private final ItemSearchIndex searchIndex;
+
+    private final ItemViewCache itemViewCache;
+
+    private final BookingPointerService bookingPointerService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final EntityManager entityManager;
+
+    private static final int BATCH_FLUSH_SIZE = 1000;
+
+    private static final int MAX_NAME_LENGTH = 255;
+
+    private static final int MAX_DESCRIPTION_LENGTH = 512;
+
     @Override
+    @Transactional(readOnly = true)
     public List<ItemDto> getAllUserItems(int userId,  int from, int size) {
         if ((from >= 0) && (size > 0)) {
-            Pageable page = PageRequest.of(0, size + from, Sort.by(Sort.Direction.ASC, "id"));
-            List<ItemDto> usersItems = new ArrayList<>();
-            itemRepository.findAll(userId, page).forEach(item -> usersItems.add(
-                    ItemMapper.itemToItemDtoWithBookings(item,
-                            BookingMapper.bookingToBookingDto(bookingRepository.findLastBookingForItem(item.getId())
-                                    .orElse(new Booking())),
-                            BookingMapper.bookingToBookingDto(bookingRepository.findNextBookingForItem(item.getId())
-                                    .orElse(new Booking())),
-                            CommentMapper.commentsToCommentDto(commentRepository.findByItemId(item.getId(),
-                                    Sort.by(Sort.Direction.DESC, "id"))))));
-            if (usersItems.size() > size) {
-                return usersItems.subList(from, usersItems.size());
-            } else {
-                return usersItems;
-            }
+            Pageable page = OffsetPageRequest.of(from, size, Sort.by(Sort.Direction.ASC, "id"));
+            return itemsToItemDtosWithBookings(itemRepository.findAll(userId, page));
         } else {
             log.info("Параметры from и size не могут быть меньше 0");
             throw new ValidationException();
@@ -79,20 +105,18 @@ public class ItemServiceJpaImpl implements ItemService {
         if (userId > 0) {
             if ((!itemDto.getName().isBlank()) && (!itemDto.getDescription().isBlank()) &&
                     (itemDto.getAvailable() != null) && (itemDto.getDescription() != null)) {
+                User owner = validator.getUser(userId, userRepository);
                 Item item;
-                if (userRepository.findById(userId).isPresent()) {
-                    if (itemDto.getRequestId() == null) {
-                        item = ItemMapper.itemDtoToItem(itemDto, userRepository.findById(userId).get(),
-                                null);
-                    } else {
-                        item = ItemMapper.itemDtoToItem(itemDto, userRepository.findById(userId).get(),
-                                requestRepository.findById(itemDto.getRequestId()).get());
-                    }
+                if (itemDto.getRequestId() == null) {
+                    item = ItemMapper.itemDtoToItem(itemDto, owner, null);
                 } else {
-                    log.info("Пользователь не существует");
-                    throw new UserNotFoundException();
+                    ItemRequest request = validator.getRequest(itemDto.getRequestId(), requestRepository);
+                    touchRequest(request);
+                    item = ItemMapper.itemDtoToItem(itemDto, owner, request);
                 }
-                return ItemMapper.itemToItemDto(itemRepository.save(item));
+                Item savedItem = itemRepository.save(item);
+                eventPublisher.publishEvent(new ItemSavedEvent(savedItem));
+                return ItemMapper.itemToItemDto(savedItem);
             } else {
                 log.info("Ошибка валидации вещи");
                 throw new ValidationException();
@@ -104,30 +128,82 @@ public class ItemServiceJpaImpl implements ItemService {
         }
     }
 
+    /**
+     * Все вещи проверяются до записи, вещи с ошибками пропускаются и попадают в отчет.
+     * Остальные вставляются в одной транзакции пакетами JDBC: id берутся из последовательности,
+     * контекст постоянства очищается после каждой порции, чтобы память не росла с размером запроса.
+     */
+    @Override
+    public ItemBatchResultDto createItems(int userId, List<ItemDto> itemDtos) {
+        User owner = validator.getUser(userId, userRepository);
+        Set<Integer> requestIds = itemDtos.stream()
+                .filter(Objects::nonNull)
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Integer, ItemRequest> requests = new HashMap<>();
+        if (!requestIds.isEmpty()) {
+            requestRepository.findAllById(requestIds).forEach(request -> requests.put(request.getId(), request));
+        }
+        List<Item> items = new ArrayList<>();
+        List<ItemBatchErrorDto> errors = new ArrayList<>();
+        for (int i = 0; i < itemDtos.size(); i++) {
+            ItemDto itemDto = itemDtos.get(i);
+            String error = validateBatchItem(itemDto, requests);
+            if (error == null) {
+                Item item = ItemMapper.itemDtoToItem(itemDto, owner,
+                        itemDto.getRequestId() == null ? null : requests.get(itemDto.getRequestId()));
+                item.setId(null);
+                items.add(item);
+            } else {
+                errors.add(new ItemBatchErrorDto(i, error));
+            }
+        }
+        items.stream()
+                .map(Item::getItemRequest)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(this::touchRequest);
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        for (int from = 0; from < items.size(); from += BATCH_FLUSH_SIZE) {
+            itemRepository.saveAll(items.subList(from, Math.min(from + BATCH_FLUSH_SIZE, items.size())));
+            itemRepository.flush();
+            entityManager.clear();
+        }
+        if (!items.isEmpty()) {
+            eventPublisher.publishEvent(new ItemsSavedEvent(items));
+        }
+        log.info("Пакетное создание вещей: создано {}, отклонено {}", items.size(), errors.size());
+        return ItemBatchResultDto.builder()
+                .created(items.stream()
+                        .map(Item::getId)
+                        .collect(Collectors.toList()))
+                .errors(errors)
+                .build();
+    }
+
     @Override
     public ItemDto changeItem(int userId, int id, ItemDto itemDto) {
         Item updatedItem;
         if ((userId > 0) && (id > 0)) {
-            if (itemRepository.findById(id).isPresent()) {
-                Item item = itemRepository.findById(id).get();
-                if (item.getOwner().getId() == userId) {
-                    if ((itemDto.getName() == null) && (itemDto.getDescription() == null)) {
-                        updatedItem = updateStatus(itemDto, item);
-                    } else if (itemDto.getDescription() == null) {
-                        updatedItem = updateName(itemDto, item);
-                    } else if (itemDto.getName() == null) {
-                        updatedItem = updateDescription(itemDto, item);
-                    } else {
-                        updatedItem = fullUpdateItem(itemDto, item);
-                    }
-                    log.info("Вещь обновлена");
-                    return ItemMapper.itemToItemDto(itemRepository.save(updatedItem), new ArrayList<>());
+            Item item = validator.getItem(id, itemRepository);
+            if (item.getOwner().getId() == userId) {
+                touchRequest(item.getItemRequest());
+                if ((itemDto.getName() == null) && (itemDto.getDescription() == null)) {
+                    updatedItem = updateStatus(itemDto, item);
+                } else if (itemDto.getDescription() == null) {
+                    updatedItem = updateName(itemDto, item);
+                } else if (itemDto.getName() == null) {
+                    updatedItem = updateDescription(itemDto, item);
                 } else {
-                    log.info("Некорректный запрос - у вещи другой владелец");
-                    throw new ItemNotFoundException();
+                    updatedItem = fullUpdateItem(itemDto, item);
                 }
+                Item savedItem = itemRepository.save(updatedItem);
+                eventPublisher.publishEvent(new ItemSavedEvent(savedItem));
+                log.info("Вещь обновлена");
+                return ItemMapper.itemToItemDto(savedItem, new ArrayList<>());
             } else {
-                log.info("Вещь не найдена");
+                log.info("Некорректный запрос - у вещи другой владелец");
                 throw new ItemNotFoundException();
             }
         } else {
@@ -138,49 +214,58 @@ public class ItemServiceJpaImpl implements ItemService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemDto findItemById(int userId, int id) {
-        if ((validator.validateUser(userId, userRepository)) &&
-                (validator.validateItem(id, itemRepository))) {
-            Item item = itemRepository.findById(id).get();
-            if (item.getOwner().getId() == userId) {
-                return ItemMapper.itemToItemDtoWithBookings(item,
-                        BookingMapper.bookingToBookingDto(bookingRepository.findLastBookingForItem(item.getId())
-                                .orElse(new Booking())),
-                        BookingMapper.bookingToBookingDto(bookingRepository.findNextBookingForItem(item.getId())
-                                .orElse(new Booking())),
-                        CommentMapper.commentsToCommentDto(commentRepository.findByItemId(item.getId(),
-                                Sort.by(Sort.Direction.DESC, "id"))));
-            } else {
-                return ItemMapper.itemToItemDto(item,
-                        CommentMapper.commentsToCommentDto(commentRepository.findByItemId(item.getId(),
-                        Sort.by(Sort.Direction.DESC, "id"))));
-            }
+        return findItemView(userId, id).getItem();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ItemViewDto findItemView(int userId, int id) {
+        validator.checkUser(userId, userRepository);
+        ItemViewDto cachedView = itemViewCache.get(id, userId);
+        if (cachedView != null) {
+            return cachedView;
+        }
+        long cacheVersion = itemViewCache.version(id);
+        Item item = validator.getItemWithBookings(id, itemRepository);
+        int ownerId = item.getOwner().getId();
+        List<CommentDto> comments = CommentMapper.commentsToCommentDto(commentRepository.findByItemId(item.getId(),
+                Sort.by(Sort.Direction.DESC, "id")));
+        if (ownerId == userId) {
+            BookingPointers pointers = bookingPointerService.current(item);
+            ItemViewDto view = new ItemViewDto(ItemMapper.itemToOwnerETag(item, pointers), ownerId,
+                    ItemMapper.itemToItemDtoWithBookings(item, pointers, comments));
+            itemViewCache.putOwnerView(item.getId(), view, cacheVersion);
+            return view;
         } else {
-            log.info("Вещь не найдена");
-            throw new ItemNotFoundException();
+            ItemViewDto view = new ItemViewDto(ItemMapper.itemToETag(item), ownerId,
+                    ItemMapper.itemToItemDto(item, comments));
+            itemViewCache.putPublicView(item.getId(), view, cacheVersion);
+            return view;
         }
     }
 
     @Override
     public void removeItem(int userId, int id) {
+        itemRepository.findById(id).ifPresent(item -> touchRequest(item.getItemRequest()));
         itemRepository.deleteById(id);
+        eventPublisher.publishEvent(new ItemRemovedEvent(id));
     }
 
     @Override
     public List<ItemDto> getSearchedItems(String searchRequest,  int from, int size) {
         if ((from >= 0) && (size > 0)) {
-            Pageable page = PageRequest.of(0, size + from, Sort.by(Sort.Direction.ASC, "id"));
-            if (!searchRequest.isEmpty()) {
-                List<ItemDto> searchedItems = new ArrayList<>();
-                itemRepository.search(searchRequest, page).forEach(item -> searchedItems.add(ItemMapper.itemToItemDto(item,
-                        new ArrayList<>())));
-                if (searchedItems.size() > size) {
-                    return searchedItems.subList(from, searchedItems.size());
-                } else {
-                    return searchedItems;
-                }
-            } else {
+            if (searchRequest.isEmpty()) {
                 return new ArrayList<>();
+            } else if (searchIndex.isEnabled()) {
+                return searchIndex.search(searchRequest, from, size);
+            } else {
+                Pageable page = OffsetPageRequest.of(from, size, Sort.by(Sort.Direction.ASC, "id"));
+                List<ItemDto> searchedItems = new ArrayList<>();
+                itemRepository.search(searchRequest, page).forEach(item -> searchedItems.add(ItemMapper
+                        .itemShortDtoToItemDto(item, new ArrayList<>())));
+                return searchedItems;
             }
         } else {
             log.info("Параметры from и size не могут быть меньше 0");
@@ -191,37 +276,34 @@ public class ItemServiceJpaImpl implements ItemService {
     @Override
     public CommentDto createComment(int userId, int itemId, Comment comment) {
         if (!comment.getText().isEmpty()) {
-            if ((validator.validateUser(userId, userRepository)) &&
-                    (validator.validateItem(itemId, itemRepository))) {
-                List<Booking> bookingList = bookingRepository.findByBookerIdAndItemId(userId, itemId,
-                        Sort.by(Sort.Direction.DESC, "id"));
-                if (!bookingList.isEmpty()) {
-                    boolean isValid = false;
-                    for (Booking booking : bookingList) {
-                        if (booking.getEnd().isBefore(LocalDateTime.now())) {
-                            User author = userRepository.findById(userId).get();
-                            Item item = itemRepository.findById(itemId).get();
-                            comment.setAuthor(author);
-                            comment.setItem(item);
-                            comment.setCreated(LocalDateTime.now());
-                            isValid = true;
-                        }
+            User author = validator.getUser(userId, userRepository);
+            Item item = validator.getItem(itemId, itemRepository);
+            List<Booking> bookingList = bookingRepository.findByBookerIdAndItemId(userId, itemId,
+                    Sort.by(Sort.Direction.DESC, "id"));
+            if (!bookingList.isEmpty()) {
+                boolean isValid = false;
+                for (Booking booking : bookingList) {
+                    if (booking.getEnd().isBefore(LocalDateTime.now())) {
+                        comment.setAuthor(author);
+                        comment.setItem(item);
+                        comment.setCreated(LocalDateTime.now());
+                        isValid = true;
                     }
-                    if (!isValid) {
-                        log.info("Пользователь не может оставить комментарий, " +
-                                "так как бронирование еще не завершено");
-                        throw new ValidationException();
-                    } else {
-                        return CommentMapper.commentToCommentDto(commentRepository.save(comment));
-                    }
-                } else {
+                }
+                if (!isValid) {
                     log.info("Пользователь не может оставить комментарий, " +
-                            "так он не бронировал вещь");
+                            "так как бронирование еще не завершено");
                     throw new ValidationException();
+                } else {
+                    entityManager.lock(item, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+                    CommentDto commentDto = CommentMapper.commentToCommentDto(commentRepository.save(comment));
+                    eventPublisher.publishEvent(new CommentSavedEvent(itemId));
+                    return commentDto;
                 }
             } else {
-                log.info("Некорректный запрос. Пользователь или вещь не найдены");
-                throw new UserNotFoundException();
+                log.info("Пользователь не может оставить комментарий, " +
+                        "так он не бронировал вещь");
+                throw new ValidationException();
             }
         } else {
             log.info("Комментарий не может быть пустым");
@@ -229,6 +311,76 @@ public class ItemServiceJpaImpl implements ItemService {
         }
     }
 
+    private List<ItemDto> itemsToItemDtosWithBookings(List<ItemShortDto> items) {
+        List<ItemDto> itemDtos = new ArrayList<>();
+        if (items.isEmpty()) {
+            return itemDtos;
+        }
+        List<Integer> itemIds = items.stream()
+                .map(ItemShortDto::getId)
+                .collect(Collectors.toList());
+        Map<Integer, Booking> lastBookings = new HashMap<>();
+        bookingRepository.findLastBookingsForItems(itemIds).forEach(booking ->
+                lastBookings.putIfAbsent(booking.getItem().getId(), booking));
+        Map<Integer, Booking> nextBookings = new HashMap<>();
+        bookingRepository.findNextBookingsForItems(itemIds).forEach(booking ->
+                nextBookings.putIfAbsent(booking.getItem().getId(), booking));
+        LocalDateTime now = LocalDateTime.now();
+        List<Integer> startedItemIds = nextBookings.values().stream()
+                .filter(booking -> !booking.getStart().isAfter(now))
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toList());
+        for (Integer itemId : startedItemIds) {
+            BookingPointers pointers = bookingPointerService.compute(itemId);
+            lastBookings.remove(itemId);
+            nextBookings.remove(itemId);
+            if (pointers.getLastBooking() != null) {
+                lastBookings.put(itemId, pointers.getLastBooking());
+            }
+            if (pointers.getNextBooking() != null) {
+                nextBookings.put(itemId, pointers.getNextBooking());
+            }
+        }
+        Map<Integer, List<Comment>> comments = commentRepository.findByItemIdIn(itemIds,
+                        Sort.by(Sort.Direction.DESC, "id")).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+        for (ItemShortDto item : items) {
+            itemDtos.add(ItemMapper.itemShortDtoToItemDtoWithBookings(item,
+                    BookingMapper.bookingToBookingDto(lastBookings.getOrDefault(item.getId(), new Booking())),
+                    BookingMapper.bookingToBookingDto(nextBookings.getOrDefault(item.getId(), new Booking())),
+                    CommentMapper.commentsToCommentDto(comments.getOrDefault(item.getId(), new ArrayList<>()))));
+        }
+        return itemDtos;
+    }
+
+    /**
+     * Запрос показывается вместе с вещами-ответами, поэтому их изменение увеличивает версию запроса и меняет его ETag.
+     */
+    private void touchRequest(ItemRequest request) {
+        if (request != null) {
+            entityManager.lock(request, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+        }
+    }
+
+    private String validateBatchItem(ItemDto itemDto, Map<Integer, ItemRequest> requests) {
+        if (itemDto == null) {
+            return "Вещь не может быть пустой";
+        } else if ((itemDto.getName() == null) || (itemDto.getName().isBlank())) {
+            return "Название вещи не может быть пустым";
+        } else if (itemDto.getName().length() > MAX_NAME_LENGTH) {
+            return "Название вещи не может быть длиннее " + MAX_NAME_LENGTH + " символов";
+        } else if ((itemDto.getDescription() == null) || (itemDto.getDescription().isBlank())) {
+            return "Описание вещи не может быть пустым";
+        } else if (itemDto.getDescription().length() > MAX_DESCRIPTION_LENGTH) {
+            return "Описание вещи не может быть длиннее " + MAX_DESCRIPTION_LENGTH + " символов";
+        } else if (itemDto.getAvailable() == null) {
+            return "Не указана доступность вещи";
+        } else if ((itemDto.getRequestId() != null) && (!requests.containsKey(itemDto.getRequestId()))) {
+            return "Запрос с id = " + itemDto.getRequestId() + " не найден";
+        }
+        return null;
+    }
+
     private Item updateName(ItemDto itemDto, Item item) {
         return Item.builder()
                 .id(item.getId())
@@ -236,6 +388,9 @@ public class ItemServiceJpaImpl implements ItemService {
                 .description(item.getDescription())
                 .available(item.getAvailable())
                 .owner(item.getOwner())
+                .lastBooking(item.getLastBooking())
+                .nextBooking(item.getNextBooking())
+                .version(item.getVersion())
                 .build();
     }
 
@@ -246,6 +401,9 @@ public class ItemServiceJpaImpl implements ItemService {
                 .description(itemDto.getDescription())
                 .available(item.getAvailable())
                 .owner(item.getOwner())
+                .lastBooking(item.getLastBooking())
+                .nextBooking(item.getNextBooking())
+                .version(item.getVersion())
                 .build();
     }
 
@@ -256,6 +414,9 @@ public class ItemServiceJpaImpl implements ItemService {
                 .description(item.getDescription())
                 .available(itemDto.getAvailable())
                 .owner(item.getOwner())
+                .lastBooking(item.getLastBooking())
+                .nextBooking(item.getNextBooking())
+                .version(item.getVersion())
                 .build();
     }
 
@@ -266,6 +427,9 @@ public class ItemServiceJpaImpl implements ItemService {
                 .description(itemDto.getDescription())
                 .available(itemDto.getAvailable())
                 .owner(item.getOwner())
+                .lastBooking(item.getLastBooking())
+                .nextBooking(item.getNextBooking())
+                .version(item.getVersion())
                 .build();
     }
 
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.Getter;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Позиция в истории бронирований, отсортированной по (end_date, booking_id) по убыванию.
+ * Клиенту передается в виде непрозрачной строки.
+ */
+@Getter
+public class BookingCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime end;
+
+    private final int id;
+
+    private BookingCursor(LocalDateTime end, int id) {
+        this.end = end;
+        this.id = id;
+    }
+
+    public static BookingCursor of(BookingResponseDto booking) {
+        return new BookingCursor(booking.getEnd(), booking.getId());
+    }
+
+    public static BookingCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = decoded.lastIndexOf(SEPARATOR);
+            return new BookingCursor(LocalDateTime.parse(decoded.substring(0, separatorIndex)),
+                    Integer.parseInt(decoded.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new ValidationException();
+        }
+    }
+
+    public String encode() {
+        String raw = end + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
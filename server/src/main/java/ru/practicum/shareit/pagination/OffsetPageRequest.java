@@ -0,0 +1,83 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Pageable, работающий со смещением from вместо номера страницы.
+ * Передает from и size в запрос как OFFSET и LIMIT.
+ */
+@EqualsAndHashCode
+@ToString
+public class OffsetPageRequest implements Pageable {
+
+    private final int from;
+
+    private final int size;
+
+    private final Sort sort;
+
+    private OffsetPageRequest(int from, int size, Sort sort) {
+        if (from < 0) {
+            throw new IllegalArgumentException("Параметр from не может быть меньше 0");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Параметр size не может быть меньше 1");
+        }
+        this.from = from;
+        this.size = size;
+        this.sort = sort;
+    }
+
+    public static OffsetPageRequest of(int from, int size, Sort sort) {
+        return new OffsetPageRequest(from, size, sort);
+    }
+
+    @Override
+    public int getPageNumber() {
+        return from / size;
+    }
+
+    @Override
+    public int getPageSize() {
+        return size;
+    }
+
+    @Override
+    public long getOffset() {
+        return from;
+    }
+
+    @Override
+    public Sort getSort() {
+        return sort;
+    }
+
+    @Override
+    public Pageable next() {
+        return new OffsetPageRequest(from + size, size, sort);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return hasPrevious() ? new OffsetPageRequest(from - size, size, sort) : first();
+    }
+
+    @Override
+    public Pageable first() {
+        return new OffsetPageRequest(0, size, sort);
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return new OffsetPageRequest(pageNumber * size, size, sort);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return from >= size;
+    }
+
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.request.controller;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.RequestService;
@@ -55,9 +56,12 @@ public class ItemRequestController {
 
     @GetMapping("/{requestId}")
     public ItemRequestDto getRequest(@RequestHeader(HEADER) int userId, @PathVariable int requestId,
-                           HttpServletRequest request) {
+                           HttpServletRequest request, WebRequest webRequest) {
         log.info("Получен запрос к эндпоинту: '{} {}', Строка параметров запроса: '{}'",
                 request.getMethod(), request.getRequestURI(), request.getQueryString());
+        if (webRequest.checkNotModified(requestService.getRequestETag(userId, requestId))) {
+            return null;
+        }
         return requestService.findRequestById(userId, requestId);
     }
 
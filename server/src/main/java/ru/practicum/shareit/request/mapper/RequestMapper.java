@@ -1,11 +1,15 @@
 package ru.practicum.shareit.request.mapper;
 
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 public class RequestMapper {
 
@@ -27,4 +31,22 @@ public class RequestMapper {
                 .build();
     }
 
-}
\ No newline at end of file
+    public static List<ItemRequestDto> itemRequestsToItemRequestDtos(List<ItemRequest> itemRequests,
+                                                                     List<ItemShortDto> items) {
+        Map<Integer, List<ItemDto>> itemsByRequest = items.stream()
+                .collect(Collectors.groupingBy(ItemShortDto::getRequestId,
+                        Collectors.mapping(item -> ItemMapper.itemShortDtoToItemDto(item, null),
+                                Collectors.toList())));
+        List<ItemRequestDto> itemRequestDtos = new ArrayList<>();
+        for (ItemRequest itemRequest : itemRequests) {
+            itemRequestDtos.add(itemRequestToItemRequestDto(itemRequest,
+                    itemsByRequest.getOrDefault(itemRequest.getId(), new ArrayList<>())));
+        }
+        return itemRequestDtos;
+    }
+
+    public static String itemRequestToETag(ItemRequest itemRequest) {
+        return "W/\"request-" + itemRequest.getId() + "-" + itemRequest.getVersion() + "\"";
+    }
+
+}
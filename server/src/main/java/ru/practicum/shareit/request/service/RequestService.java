@@ -14,4 +14,9 @@ public interface RequestService {
 
     ItemRequestDto findRequestById(int userId, int requestId);
 
+    /**
+     * ETag ответа findRequestById, меняется вместе с версией запроса и при изменении вещей-ответов.
+     */
+    String getRequestETag(int userId, int requestId);
+
 }
\ No newline at end of file
@@ -2,20 +2,19 @@ package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import ru.practicum.shareit.exception.RequestNotFoundException;
-import ru.practicum.shareit.exception.UserNotFoundException;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.ValidationException;
-import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.RequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.RequestJpaRepository;
+import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserJpaRepository;
 import ru.practicum.shareit.validator.Validator;
 
@@ -23,10 +22,12 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
+@Transactional
 public class RequestServiceJpaImpl implements RequestService {
 
     private final RequestJpaRepository requestRepository;
@@ -39,57 +40,40 @@ public class RequestServiceJpaImpl implements RequestService {
 
     @Override
     public ItemRequestDto createRequest(int userId, ItemRequest itemRequest) {
-        if (validator.validateUser(userId, userRepository)) {
-            if (!itemRequest.getDescription().isBlank()) {
-                itemRequest.setUser(userRepository.findById(userId).get());
-                itemRequest.setCreated(LocalDateTime.parse(LocalDateTime.now().format(DateTimeFormatter
-                        .ofPattern("yyyy-MM-dd'T'HH:mm:ss"))));
-                return RequestMapper.itemRequestToItemRequestDto(requestRepository.save(itemRequest));
-            } else {
-                log.info("Ошибка валидации запроса на вещь");
-                throw new ValidationException();
-            }
+        User user = validator.getUser(userId, userRepository);
+        if (!itemRequest.getDescription().isBlank()) {
+            itemRequest.setUser(user);
+            itemRequest.setCreated(LocalDateTime.parse(LocalDateTime.now().format(DateTimeFormatter
+                    .ofPattern("yyyy-MM-dd'T'HH:mm:ss"))));
+            return RequestMapper.itemRequestToItemRequestDto(requestRepository.save(itemRequest));
         } else {
-            log.info("Пользователь не найден");
-            throw new UserNotFoundException();
+            log.info("Ошибка валидации запроса на вещь");
+            throw new ValidationException();
         }
     }
 
+    /**
+     * Пользователь проверяется только при пустом списке: у найденных запросов автор всегда существует.
+     */
     @Override
     public List<ItemRequestDto> getAllUserRequests(int userId) {
-        if (validator.validateUser(userId, userRepository)) {
-            List<ItemRequest> userRequests = requestRepository.findByUserId(userId);
-            List<ItemRequestDto> userRequestDtos = new ArrayList<>();
-            if (userRequests.isEmpty()) {
-                return userRequestDtos;
-            }
-            for (ItemRequest itemRequest : userRequests) {
-                List<ItemDto> items = ItemMapper.itemsToItemDtos(itemRepository.findByRequestId(itemRequest.getId()));
-                userRequestDtos.add(RequestMapper.itemRequestToItemRequestDto(itemRequest, items));
-            }
-            return userRequestDtos;
-        } else {
-            log.info("Пользователь не найден");
-            throw new UserNotFoundException();
+        List<ItemRequest> userRequests = requestRepository.findByUserId(userId);
+        if (userRequests.isEmpty()) {
+            validator.checkUser(userId, userRepository);
+            return new ArrayList<>();
         }
+        return toItemRequestDtos(userRequests);
     }
 
     @Override
     public List<ItemRequestDto> getAllRequests(int userId, int from, int size) {
         if ((from >= 0) && (size > 0)) {
-            Pageable page = PageRequest.of(0, size + from, Sort.by(Sort.Direction.DESC, "id"));
+            Pageable page = OffsetPageRequest.of(from, size, Sort.by(Sort.Direction.DESC, "id"));
             List<ItemRequest> requests = requestRepository.findAllRequests(userId, page);
-            List<ItemRequestDto> requestDtos = new ArrayList<>();
-            for (ItemRequest itemRequest : requests) {
-                List<ItemDto> itemDtos = ItemMapper.itemsToItemDtos(itemRepository
-                        .findByRequestId(itemRequest.getId()));
-                requestDtos.add(RequestMapper.itemRequestToItemRequestDto(itemRequest, itemDtos));
-            }
-            if ((requestDtos.size() > size) && (!requestDtos.isEmpty())) {
-                return requestDtos.subList(from, requestDtos.size());
-            } else {
-                return requestDtos;
+            if (requests.isEmpty()) {
+                return new ArrayList<>();
             }
+            return toItemRequestDtos(requests);
         } else {
             log.info("Параметры from и size не могут быть меньше 0");
             throw new ValidationException();
@@ -98,15 +82,24 @@ public class RequestServiceJpaImpl implements RequestService {
 
     @Override
     public ItemRequestDto findRequestById(int userId, int requestId) {
-        if (validator.validateUser(userId, userRepository)) {
-            return RequestMapper.itemRequestToItemRequestDto(
-                    requestRepository.findById(requestId).orElseThrow(RequestNotFoundException::new),
-                    ItemMapper.itemsToItemDtos(itemRepository.findByRequestId(requestId))
-            );
-        } else {
-            log.info("Пользователь не найден");
-            throw new UserNotFoundException();
-        }
+        validator.checkUser(userId, userRepository);
+        return RequestMapper.itemRequestToItemRequestDto(
+                validator.getRequest(requestId, requestRepository),
+                ItemMapper.itemsToItemDtos(itemRepository.findByRequestId(requestId))
+        );
+    }
+
+    @Override
+    public String getRequestETag(int userId, int requestId) {
+        validator.checkUser(userId, userRepository);
+        return RequestMapper.itemRequestToETag(validator.getRequest(requestId, requestRepository));
+    }
+
+    private List<ItemRequestDto> toItemRequestDtos(List<ItemRequest> requests) {
+        List<Integer> requestIds = requests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        return RequestMapper.itemRequestsToItemRequestDtos(requests, itemRepository.findByRequestIdIn(requestIds));
     }
 
-}
\ No newline at end of file
+}
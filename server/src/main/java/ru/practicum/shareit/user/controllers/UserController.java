@@ -3,6 +3,7 @@ package ru.practicum.shareit.user.controllers;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserServiceJpaImpl;
@@ -49,9 +50,12 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
-    public UserDto getUserById(@PathVariable int userId, HttpServletRequest request) {
+    public UserDto getUserById(@PathVariable int userId, HttpServletRequest request, WebRequest webRequest) {
         log.info("Получен запрос к эндпоинту: '{} {}', Строка параметров запроса: '{}'",
                 request.getMethod(), request.getRequestURI(), request.getQueryString());
+        if (webRequest.checkNotModified(userService.getUserETag(userId))) {
+            return null;
+        }
         return userService.findUserById(userId);
     }
 
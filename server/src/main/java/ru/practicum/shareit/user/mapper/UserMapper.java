@@ -13,4 +13,8 @@ public class UserMapper {
                 .build();
     }
 
+    public static String userToETag(User user) {
+        return "W/\"user-" + user.getId() + "-" + user.getVersion() + "\"";
+    }
+
 }
\ No newline at end of file
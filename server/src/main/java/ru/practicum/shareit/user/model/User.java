@@ -1,6 +1,10 @@
 package ru.practicum.shareit.user.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.Map;
@@ -16,10 +20,14 @@ import java.util.Map;
 @NoArgsConstructor
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     @Column(name = "user_id")
     private Integer id;
 
@@ -29,6 +37,17 @@ public class User {
     @Column(nullable = false)
     private String name;
 
+    /**
+     * Номер изменения для оптимистичной блокировки, из него строится ETag ответа.
+     */
+    @Version
+    @JsonIgnore
+    private int version;
+
+    public User(Integer id, String email, String name) {
+        this(id, email, name, 0);
+    }
+
     public Map<String, Object> toMap() {
         return Map.of("email", email,
                 "name", name);
@@ -1,8 +1,19 @@
 package ru.practicum.shareit.user.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.QueryHint;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 public interface UserJpaRepository extends JpaRepository<User, Integer> {
 
-}
\ No newline at end of file
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query(" select case when count(u) > 0 then true else false end from User u " +
+            "where u.id = ?1")
+    boolean existsById(Integer id);
+
+}
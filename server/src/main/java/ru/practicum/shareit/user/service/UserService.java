@@ -15,6 +15,11 @@ public interface UserService {
 
     UserDto findUserById(int id);
 
+    /**
+     * ETag ответа findUserById, меняется вместе с версией пользователя.
+     */
+    String getUserETag(int id);
+
     void removeUser(int id);
 
 }
\ No newline at end of file
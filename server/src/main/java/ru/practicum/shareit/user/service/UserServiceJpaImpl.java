@@ -12,6 +12,7 @@ import ru.practicum.shareit.user.repository.UserJpaRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.validator.Validator;
 
 import java.util.List;
 
@@ -23,6 +24,8 @@ public class UserServiceJpaImpl implements UserService {
 
     private final UserJpaRepository repository;
 
+    private final Validator validator;
+
     @Override
     public List<User> getAllUsers() {
         log.info("Получен запрос на вывод всех пользователей");
@@ -34,7 +37,7 @@ public class UserServiceJpaImpl implements UserService {
         log.info("Получен запрос на создание пользователя");
         if ((user.getName() != null) && (user.getEmail() != null)) {
             try {
-                return UserMapper.userToUserDto(repository.save(user));
+                return UserMapper.userToUserDto(repository.saveAndFlush(user));
             } catch (RuntimeException exception) {
                 log.info("Ошибка создания пользователя");
                 throw new ResponseStatusException(HttpStatus.CONFLICT,
@@ -49,22 +52,17 @@ public class UserServiceJpaImpl implements UserService {
     @Override
     public UserDto changeUser(int userId, UserDto userDto) {
         log.info("Получен запрос на изменение пользователя");
+        User user = validator.getUser(userId, repository);
         User updatedUser;
-        if (repository.findById(userId).isPresent()) {
-            User user = repository.findById(userId).get();
-            if (userDto.getName() == null) {
-                updatedUser = updateEmail(user, userDto);
-            } else if (userDto.getEmail() == null) {
-                updatedUser = updateName(user, userDto);
-            } else {
-                updatedUser = updateNameAndEmail(user, userDto);
-            }
-            log.info("Пользовател обновлен");
-            return UserMapper.userToUserDto(repository.save(updatedUser));
+        if (userDto.getName() == null) {
+            updatedUser = updateEmail(user, userDto);
+        } else if (userDto.getEmail() == null) {
+            updatedUser = updateName(user, userDto);
         } else {
-            log.info("Пользователь с id = " + userId + " не найден");
-            throw new UserNotFoundException();
+            updatedUser = updateNameAndEmail(user, userDto);
         }
+        log.info("Пользовател обновлен");
+        return UserMapper.userToUserDto(repository.save(updatedUser));
     }
 
     @Override
@@ -73,6 +71,12 @@ public class UserServiceJpaImpl implements UserService {
                 new UserNotFoundException("Пользователь с id = " + id + " не найден")));
     }
 
+    @Override
+    public String getUserETag(int id) {
+        return UserMapper.userToETag(repository.findById(id).orElseThrow(() ->
+                new UserNotFoundException("Пользователь с id = " + id + " не найден")));
+    }
+
     @Override
     public void removeUser(int id) {
         repository.deleteById(id);
@@ -83,6 +87,7 @@ public class UserServiceJpaImpl implements UserService {
                 .id(user.getId())
                 .email(userDto.getEmail())
                 .name(user.getName())
+                .version(user.getVersion())
                 .build();
     }
 
@@ -91,6 +96,7 @@ public class UserServiceJpaImpl implements UserService {
                 .id(user.getId())
                 .email(user.getEmail())
                 .name(userDto.getName())
+                .version(user.getVersion())
                 .build();
     }
 
@@ -99,6 +105,7 @@ public class UserServiceJpaImpl implements UserService {
                 .id(user.getId())
                 .email(userDto.getEmail())
                 .name(userDto.getName())
+                .version(user.getVersion())
                 .build();
     }
 
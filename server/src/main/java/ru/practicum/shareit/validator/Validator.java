@@ -1,34 +1,71 @@
 package ru.practicum.shareit.validator;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingJpaRepository;
+import ru.practicum.shareit.exception.BookingNotFoundException;
+import ru.practicum.shareit.exception.ItemNotFoundException;
+import ru.practicum.shareit.exception.RequestNotFoundException;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.RequestJpaRepository;
+import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserJpaRepository;
 
+@Slf4j
 @Component
 public class Validator {
 
-    public boolean validateUser(int userId, UserJpaRepository userRepository) {
-        return userRepository.findById(userId).isPresent();
+    public User getUser(int userId, UserJpaRepository userRepository) {
+        return userRepository.findById(userId).orElseThrow(() -> {
+            log.info("Пользователь с id = " + userId + " не найден");
+            return new UserNotFoundException("Пользователь с id = " + userId + " не найден");
+        });
     }
 
-    public boolean validateItem(int itemId, ItemJpaRepository itemRepository) {
-        return itemRepository.findById(itemId).isPresent();
+    public void checkUser(int userId, UserJpaRepository userRepository) {
+        if (!userRepository.existsById(userId)) {
+            log.info("Пользователь с id = " + userId + " не найден");
+            throw new UserNotFoundException("Пользователь с id = " + userId + " не найден");
+        }
     }
 
-    public boolean validateBooking(int bookingId, BookingJpaRepository bookingRepository) {
-        return bookingRepository.findById(bookingId).isPresent();
+    public Item getItem(int itemId, ItemJpaRepository itemRepository) {
+        return itemRepository.findById(itemId).orElseThrow(() -> {
+            log.info("Вещь с id = " + itemId + " не найдена");
+            return new ItemNotFoundException();
+        });
     }
 
-    public boolean validateBookingAndItem(int bookingId, BookingJpaRepository bookingRepository,
-                                          ItemJpaRepository itemRepository) {
-        if (bookingRepository.findById(bookingId).isPresent()) {
-            Booking booking = bookingRepository.findById(bookingId).get();
-            return itemRepository.findById(booking.getItem().getId()).isPresent();
-        } else {
-            return false;
-        }
+    public Item getItemForUpdate(int itemId, ItemJpaRepository itemRepository) {
+        return itemRepository.findByIdForUpdate(itemId).orElseThrow(() -> {
+            log.info("Вещь с id = " + itemId + " не найдена");
+            return new ItemNotFoundException();
+        });
+    }
+
+    public Item getItemWithBookings(int itemId, ItemJpaRepository itemRepository) {
+        return itemRepository.findWithBookingsById(itemId).orElseThrow(() -> {
+            log.info("Вещь с id = " + itemId + " не найдена");
+            return new ItemNotFoundException();
+        });
+    }
+
+    public Booking getBooking(int bookingId, BookingJpaRepository bookingRepository) {
+        return bookingRepository.findById(bookingId).orElseThrow(() -> {
+            log.info("Бронирование с id = " + bookingId + " не найдено");
+            return new BookingNotFoundException();
+        });
+    }
+
+    public ItemRequest getRequest(int requestId, RequestJpaRepository requestRepository) {
+        return requestRepository.findById(requestId).orElseThrow(() -> {
+            log.info("Запрос с id = " + requestId + " не найден");
+            return new RequestNotFoundException();
+        });
     }
 
-}
\ No newline at end of file
+}
@@ -1,5 +1,3 @@
-drop table if exists users, items, bookings, comments, requests;
-
 CREATE TABLE IF NOT EXISTS users (
     user_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     name VARCHAR(255) NOT NULL,
@@ -0,0 +1,13 @@
+CREATE INDEX IF NOT EXISTS bookings_booker_end_idx ON bookings (booker_id, end_date DESC, booking_id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_item_start_idx ON bookings (item_id, start_date);
+
+CREATE INDEX IF NOT EXISTS bookings_item_end_idx ON bookings (item_id, end_date DESC, booking_id DESC);
+
+CREATE INDEX IF NOT EXISTS items_owner_idx ON items (owner_id, item_id);
+
+CREATE INDEX IF NOT EXISTS items_request_idx ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS comments_item_idx ON comments (item_id, comment_id DESC);
+
+CREATE INDEX IF NOT EXISTS requests_user_idx ON requests (user_id, request_id DESC);
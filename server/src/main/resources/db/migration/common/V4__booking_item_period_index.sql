@@ -0,0 +1,3 @@
+DROP INDEX IF EXISTS bookings_item_start_idx;
+
+CREATE INDEX IF NOT EXISTS bookings_item_period_idx ON bookings (item_id, start_date, end_date);
@@ -0,0 +1,25 @@
+ALTER TABLE items ADD COLUMN IF NOT EXISTS last_booking_id BIGINT;
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS next_booking_id BIGINT;
+
+ALTER TABLE items ADD CONSTRAINT item_last_booking FOREIGN KEY (last_booking_id)
+    REFERENCES bookings (booking_id) ON DELETE SET NULL;
+
+ALTER TABLE items ADD CONSTRAINT item_next_booking FOREIGN KEY (next_booking_id)
+    REFERENCES bookings (booking_id) ON DELETE SET NULL;
+
+CREATE INDEX IF NOT EXISTS items_next_booking_idx ON items (next_booking_id);
+
+UPDATE items SET
+    last_booking_id = (SELECT b.booking_id FROM bookings b
+                       WHERE (b.item_id = items.item_id)
+                       AND (b.start_date < CURRENT_TIMESTAMP)
+                       AND (b.status = 'APPROVED')
+                       ORDER BY b.end_date DESC, b.booking_id DESC
+                       LIMIT 1),
+    next_booking_id = (SELECT b.booking_id FROM bookings b
+                       WHERE (b.item_id = items.item_id)
+                       AND (b.start_date > CURRENT_TIMESTAMP)
+                       AND (b.status = 'APPROVED')
+                       ORDER BY b.start_date ASC, b.booking_id ASC
+                       LIMIT 1);
@@ -0,0 +1,5 @@
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE items ALTER COLUMN item_id DROP IDENTITY;
+
+ALTER TABLE items ALTER COLUMN item_id SET DEFAULT NEXT VALUE FOR items_seq;
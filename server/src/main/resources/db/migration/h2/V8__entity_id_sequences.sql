@@ -0,0 +1,23 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE users ALTER COLUMN user_id DROP IDENTITY;
+
+ALTER TABLE users ALTER COLUMN user_id SET DEFAULT NEXT VALUE FOR users_seq;
+
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE requests ALTER COLUMN request_id DROP IDENTITY;
+
+ALTER TABLE requests ALTER COLUMN request_id SET DEFAULT NEXT VALUE FOR requests_seq;
+
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE bookings ALTER COLUMN booking_id DROP IDENTITY;
+
+ALTER TABLE bookings ALTER COLUMN booking_id SET DEFAULT NEXT VALUE FOR bookings_seq;
+
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE comments ALTER COLUMN comment_id DROP IDENTITY;
+
+ALTER TABLE comments ALTER COLUMN comment_id SET DEFAULT NEXT VALUE FOR comments_seq;
@@ -0,0 +1,26 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Ограничение не создать, пока в таблице есть пересекающиеся активные бронирования одной вещи.
+-- Миграция не меняет бронирования сама: она перечисляет конфликтующие пары, и оператор решает,
+-- какие из них отклонить, после чего миграция запускается повторно.
+DO $$
+DECLARE
+    conflicts TEXT;
+BEGIN
+    SELECT string_agg(a.booking_id || '/' || b.booking_id, ', ' ORDER BY a.booking_id, b.booking_id)
+    INTO conflicts
+    FROM bookings a
+    JOIN bookings b ON b.item_id = a.item_id
+                   AND b.booking_id > a.booking_id
+                   AND tsrange(b.start_date, b.end_date) && tsrange(a.start_date, a.end_date)
+    WHERE a.status IN ('WAITING', 'APPROVED')
+      AND b.status IN ('WAITING', 'APPROVED');
+    IF conflicts IS NOT NULL THEN
+        RAISE EXCEPTION 'Пересекающиеся активные бронирования одной вещи (booking_id/booking_id): %', conflicts
+            USING HINT = 'Отклоните лишние бронирования (status = ''REJECTED'') и повторите миграцию';
+    END IF;
+END $$;
+
+ALTER TABLE bookings ADD CONSTRAINT bookings_item_period_excl
+    EXCLUDE USING GIST (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+    WHERE (status IN ('WAITING', 'APPROVED'));
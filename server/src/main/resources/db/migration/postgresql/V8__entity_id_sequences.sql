@@ -0,0 +1,39 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+
+SELECT setval('users_seq', (SELECT COALESCE(MAX(user_id), 0) + 1 FROM users), false);
+
+ALTER TABLE users ALTER COLUMN user_id DROP IDENTITY IF EXISTS;
+
+ALTER TABLE users ALTER COLUMN user_id SET DEFAULT nextval('users_seq');
+
+ALTER SEQUENCE users_seq OWNED BY users.user_id;
+
+CREATE SEQUENCE IF NOT EXISTS requests_seq INCREMENT BY 50;
+
+SELECT setval('requests_seq', (SELECT COALESCE(MAX(request_id), 0) + 1 FROM requests), false);
+
+ALTER TABLE requests ALTER COLUMN request_id DROP IDENTITY IF EXISTS;
+
+ALTER TABLE requests ALTER COLUMN request_id SET DEFAULT nextval('requests_seq');
+
+ALTER SEQUENCE requests_seq OWNED BY requests.request_id;
+
+CREATE SEQUENCE IF NOT EXISTS bookings_seq INCREMENT BY 50;
+
+SELECT setval('bookings_seq', (SELECT COALESCE(MAX(booking_id), 0) + 1 FROM bookings), false);
+
+ALTER TABLE bookings ALTER COLUMN booking_id DROP IDENTITY IF EXISTS;
+
+ALTER TABLE bookings ALTER COLUMN booking_id SET DEFAULT nextval('bookings_seq');
+
+ALTER SEQUENCE bookings_seq OWNED BY bookings.booking_id;
+
+CREATE SEQUENCE IF NOT EXISTS comments_seq INCREMENT BY 50;
+
+SELECT setval('comments_seq', (SELECT COALESCE(MAX(comment_id), 0) + 1 FROM comments), false);
+
+ALTER TABLE comments ALTER COLUMN comment_id DROP IDENTITY IF EXISTS;
+
+ALTER TABLE comments ALTER COLUMN comment_id SET DEFAULT nextval('comments_seq');
+
+ALTER SEQUENCE comments_seq OWNED BY comments.comment_id;
@@ -0,0 +1,127 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Скорость вставки строк до и после перехода на последовательности.
+ * До: IDENTITY, каждая строка отдельным INSERT с возвратом id.
+ * После: id заранее берутся из последовательности блоками по 50 (pooled-lo), строки вставляются пакетами JDBC.
+ * Запуск: mvn test -Dtest=IdGenerationBenchmarkTest -Dshareit.benchmark.postgres-url=jdbc:postgresql://...
+ */
+@Slf4j
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "shareit.benchmark.postgres-url", matches = ".+")
+class IdGenerationBenchmarkTest {
+
+    private static final int ROWS = 50_000;
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    private Connection connection;
+
+    @BeforeAll
+    public void setUp() throws SQLException {
+        String url = System.getProperty("shareit.benchmark.postgres-url");
+        connection = DriverManager.getConnection(url + (url.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true",
+                System.getProperty("shareit.benchmark.postgres-user", "postgres"),
+                System.getProperty("shareit.benchmark.postgres-password", "iamroot"));
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_identity_users");
+            statement.execute("DROP TABLE IF EXISTS bench_sequence_users");
+            statement.execute("DROP SEQUENCE IF EXISTS bench_users_seq");
+            statement.execute("CREATE TABLE bench_identity_users (" +
+                    "user_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                    "name VARCHAR(255) NOT NULL, " +
+                    "email VARCHAR(512) NOT NULL UNIQUE)");
+            statement.execute("CREATE SEQUENCE bench_users_seq INCREMENT BY " + ALLOCATION_SIZE);
+            statement.execute("CREATE TABLE bench_sequence_users (" +
+                    "user_id BIGINT PRIMARY KEY, " +
+                    "name VARCHAR(255) NOT NULL, " +
+                    "email VARCHAR(512) NOT NULL UNIQUE)");
+        }
+        connection.commit();
+    }
+
+    @AfterAll
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_identity_users");
+            statement.execute("DROP TABLE IF EXISTS bench_sequence_users");
+            statement.execute("DROP SEQUENCE IF EXISTS bench_users_seq");
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    @Test
+    void insert_whenPooledSequenceAndBatches_thenFasterThanIdentity() throws SQLException {
+        long identityNanos = insertWithIdentity();
+        long sequenceNanos = insertWithSequence();
+
+        log.info("Вставка {} строк: IDENTITY {} мс ({} строк/с), последовательность и пакеты {} мс ({} строк/с)",
+                ROWS, identityNanos / 1_000_000, Math.round(ROWS * 1e9 / identityNanos),
+                sequenceNanos / 1_000_000, Math.round(ROWS * 1e9 / sequenceNanos));
+        assertTrue(sequenceNanos < identityNanos);
+    }
+
+    private long insertWithIdentity() throws SQLException {
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO bench_identity_users " +
+                "(name, email) VALUES (?, ?)", Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < ROWS; i++) {
+                insert.setString(1, "User" + i);
+                insert.setString(2, "identity" + i + "@mail.ru");
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                    keys.getLong(1);
+                }
+            }
+        }
+        connection.commit();
+        return System.nanoTime() - start;
+    }
+
+    private long insertWithSequence() throws SQLException {
+        long start = System.nanoTime();
+        try (PreparedStatement nextValue = connection.prepareStatement("SELECT nextval('bench_users_seq')");
+             PreparedStatement insert = connection.prepareStatement("INSERT INTO bench_sequence_users " +
+                     "(user_id, name, email) VALUES (?, ?, ?)")) {
+            long id = 0;
+            for (int i = 0; i < ROWS; i++) {
+                if (i % ALLOCATION_SIZE == 0) {
+                    try (ResultSet resultSet = nextValue.executeQuery()) {
+                        resultSet.next();
+                        id = resultSet.getLong(1);
+                    }
+                }
+                insert.setLong(1, id++);
+                insert.setString(2, "User" + i);
+                insert.setString(3, "sequence" + i + "@mail.ru");
+                insert.addBatch();
+                if ((i + 1) % ALLOCATION_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        return System.nanoTime() - start;
+    }
+
+}
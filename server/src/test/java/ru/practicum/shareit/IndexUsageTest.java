@@ -0,0 +1,106 @@
+package ru.practicum.shareit;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Проверяет по EXPLAIN, что запросы репозиториев используют индексы из миграций.
+ * Миграции накатываются на временную базу, последовательное сканирование запрещено,
+ * поэтому Seq Scan в плане означает, что подходящего индекса нет.
+ * Запуск: mvn test -Dtest=IndexUsageTest -Dshareit.benchmark.postgres-url=jdbc:postgresql://host:5432/postgres
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "shareit.benchmark.postgres-url", matches = ".+")
+class IndexUsageTest {
+
+    private static final String DATABASE = "shareit_index_usage";
+
+    private final String adminUrl = System.getProperty("shareit.benchmark.postgres-url");
+
+    private final String user = System.getProperty("shareit.benchmark.postgres-user", "postgres");
+
+    private final String password = System.getProperty("shareit.benchmark.postgres-password", "iamroot");
+
+    private Connection connection;
+
+    @BeforeAll
+    public void setUp() throws SQLException {
+        executeAsAdmin("DROP DATABASE IF EXISTS " + DATABASE);
+        executeAsAdmin("CREATE DATABASE " + DATABASE);
+        String url = adminUrl.substring(0, adminUrl.lastIndexOf('/') + 1) + DATABASE;
+        Flyway.configure()
+                .dataSource(url, user, password)
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .load()
+                .migrate();
+        connection = DriverManager.getConnection(url, user, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET enable_seqscan = off");
+        }
+    }
+
+    @AfterAll
+    public void tearDown() throws SQLException {
+        connection.close();
+        executeAsAdmin("DROP DATABASE IF EXISTS " + DATABASE);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "select * from bookings where booker_id = 1 order by end_date desc, booking_id desc limit 20" +
+                "|bookings_booker_end_idx",
+        "select * from bookings b join items i on b.item_id = i.item_id where i.owner_id = 1 " +
+                "order by b.end_date desc limit 20|items_owner_idx",
+        "select * from bookings where item_id in (1, 2) and start_date < current_timestamp " +
+                "and status = 'APPROVED' order by end_date desc|bookings_item_",
+        "select * from bookings where item_id = 1 and start_date > current_timestamp " +
+                "and status = 'APPROVED' order by start_date limit 1|bookings_item_period",
+        "select 1 from bookings where item_id = 1 and start_date < current_timestamp + interval '2 day' " +
+                "and end_date > current_timestamp + interval '1 day' " +
+                "and status in ('WAITING', 'APPROVED') limit 1|bookings_item_period",
+        "select * from items where owner_id = 1 order by item_id limit 20|items_owner_idx",
+        "select * from items where request_id in (1, 2)|items_request_idx",
+        "select * from comments where item_id in (1, 2) order by comment_id desc|comments_item_idx",
+        "select * from requests where user_id = 1|requests_user_idx",
+        "select * from items where upper(name) like upper('%дрел%') " +
+                "or upper(description) like upper('%дрел%')|items_name_trgm_idx"
+    })
+    void explain_thenIndexUsed(String query, String expectedIndex) throws SQLException {
+        String plan = explain(query);
+
+        assertTrue(plan.contains(expectedIndex), plan);
+        assertFalse(plan.contains("Seq Scan"), plan);
+    }
+
+    private String explain(String query) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN " + query)) {
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    private void executeAsAdmin(String sql) throws SQLException {
+        try (Connection adminConnection = DriverManager.getConnection(adminUrl, user, password);
+             Statement statement = adminConnection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+}
@@ -7,7 +7,7 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.context.SpringBootTest;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.service.BookingServiceJpaImpl;
 import ru.practicum.shareit.exception.ValidationException;
@@ -30,8 +30,12 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+/**
+ * Тесты рассчитывают на пустую базу с id от единицы. Другие тесты оставляют данные в общей базе,
+ * поэтому отдельное свойство дает классу свой контекст и свою встроенную базу.
+ */
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
-@SpringBootTest
+@SpringBootTest(properties = "spring.datasource.name=integration-tests")
 @AutoConfigureTestDatabase
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 class IntegrationTests {
@@ -74,12 +78,11 @@ class IntegrationTests {
         itemService.createItem(1, ItemMapper.itemToItemDto(item1));
         itemService.createItem(1, ItemMapper.itemToItemDto(item2));
         itemService.createItem(2, ItemMapper.itemToItemDto(item3));
+        requestService.createRequest(2, itemRequestToCreate);
     }
 
     @Test
     public void createItemRequest() {
-        requestService.createRequest(2, itemRequestToCreate);
-
         ItemRequestDto actualRequest = requestService.findRequestById(3, 1);
         List<ItemRequestDto> usersRequests = requestService.getAllUserRequests(2);
 
@@ -107,7 +110,6 @@ class IntegrationTests {
 
     @Test
     public void createRequestAndItemForRequest() {
-        requestService.createRequest(2, itemRequestToCreate);
         ItemDto itemDto  = new ItemDto(4, "itemName4", "itemDescription4", true, 1,
                 null, null, new ArrayList<>());
         itemService.createItem(3, itemDto);
@@ -133,18 +135,19 @@ class IntegrationTests {
                 item3.getName(),
                 user1.getId(),
                 Status.WAITING);
-        Booking expectedBooking = bookingService.createBooking(1, bookingDto);
+        BookingResponseDto expectedBooking = bookingService.createBooking(1, bookingDto);
 
-        Booking actualBooking = bookingService.findBookingById(2, 1);
-        List<Booking> userBookings = bookingService.findBookingByUserId(1, "ALL", 0, 20);
+        BookingResponseDto actualBooking = bookingService.findBookingById(2, 1);
+        List<BookingResponseDto> userBookings = bookingService.findBookingByUserId(1, "ALL", 0, 20);
 
         assertEquals(expectedBooking, actualBooking);
+        assertEquals(item3.getName(), actualBooking.getItem().getName());
         assertEquals(1, userBookings.size());
         assertEquals(expectedBooking, userBookings.get(0));
 
-        Booking expectedBooking2 = bookingService.approvedBooking(2, 1, false);
+        BookingResponseDto expectedBooking2 = bookingService.approvedBooking(2, 1, false);
 
-        List<Booking> approvedBookings = bookingService.findBookingByOwnerId(2, "REJECTED", 0, 20);
+        List<BookingResponseDto> approvedBookings = bookingService.findBookingByOwnerId(2, "REJECTED", 0, 20);
 
         assertEquals(1, approvedBookings.size());
         assertEquals(1, approvedBookings.get(0).getId());
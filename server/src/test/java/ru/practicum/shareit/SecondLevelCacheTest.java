@@ -0,0 +1,149 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.exception.ItemNotFoundException;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserJpaRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Кэш второго уровня для пользователей и вещей: повторное чтение без SQL
+ * и отсутствие устаревших данных после изменения и удаления.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase
+class SecondLevelCacheTest {
+
+    private static final String USER_REGION = "users";
+
+    private static final AtomicInteger USER_COUNTER = new AtomicInteger();
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserJpaRepository userRepository;
+
+    @Autowired
+    private ItemJpaRepository itemRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    private User owner;
+
+    private Item item;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = createUser();
+        item = itemRepository.save(new Item(null, "Дрель", "Простая дрель", true, owner, null));
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @Test
+    void findUserById_whenCalledTwice_thenSecondCallServedFromCache() {
+        userService.findUserById(owner.getId());
+        long queries = statistics.getPrepareStatementCount();
+        userService.findUserById(owner.getId());
+
+        assertEquals(1, queries);
+        assertEquals(queries, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getDomainDataRegionStatistics(USER_REGION).getHitCount() > 0);
+    }
+
+    @Test
+    void existsById_whenCalledTwice_thenServedFromQueryCache() {
+        assertTrue(userRepository.existsById(owner.getId()));
+        long queries = statistics.getPrepareStatementCount();
+        assertTrue(userRepository.existsById(owner.getId()));
+
+        assertEquals(queries, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getQueryCacheHitCount() > 0);
+    }
+
+    @Test
+    void changeUser_thenCachedUserUpdated() {
+        userService.findUserById(owner.getId());
+
+        userService.changeUser(owner.getId(), UserDto.builder().name("Новое имя").build());
+
+        assertEquals("Новое имя", userService.findUserById(owner.getId()).getName());
+    }
+
+    @Test
+    void removeUser_thenCachedUserEvicted() {
+        User user = createUser();
+        userService.findUserById(user.getId());
+
+        userService.removeUser(user.getId());
+
+        assertThrows(UserNotFoundException.class, () -> userService.findUserById(user.getId()));
+        assertFalse(userRepository.existsById(user.getId()));
+    }
+
+    @Test
+    void changeItem_thenCachedItemUpdated() {
+        itemService.findItemById(owner.getId(), item.getId());
+
+        itemService.changeItem(owner.getId(), item.getId(), ItemDto.builder().name("Перфоратор").build());
+
+        assertEquals("Перфоратор", itemService.findItemById(owner.getId(), item.getId()).getName());
+    }
+
+    @Test
+    void removeItem_thenCachedItemEvicted() {
+        itemService.findItemById(owner.getId(), item.getId());
+
+        itemService.removeItem(owner.getId(), item.getId());
+
+        assertThrows(ItemNotFoundException.class, () -> itemService.findItemById(owner.getId(), item.getId()));
+    }
+
+    @Test
+    void cacheRequests_thenExposedAsMetrics() {
+        userService.findUserById(owner.getId());
+        userService.findUserById(owner.getId());
+
+        assertNotNull(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tags("region", USER_REGION, "result", "hit")
+                .functionCounter());
+        assertNotNull(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tags("region", USER_REGION, "result", "miss")
+                .functionCounter());
+    }
+
+    private User createUser() {
+        int number = USER_COUNTER.incrementAndGet();
+        return userRepository.save(new User(null, "cache" + number + "@mail.ru", "User" + number));
+    }
+
+}
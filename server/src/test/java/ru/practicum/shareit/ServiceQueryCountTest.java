@@ -0,0 +1,301 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingJpaRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemViewDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.RequestJpaRepository;
+import ru.practicum.shareit.request.service.RequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserJpaRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Количество SQL запросов на один вызов сервиса для каждого эндпоинта.
+ * Сущности загружаются один раз, повторных findById быть не должно.
+ * Для вставки допускается один запрос к последовательности id: он выполняется раз на 50 новых строк.
+ */
+@Slf4j
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+class ServiceQueryCountTest {
+
+    private static final AtomicInteger USER_COUNTER = new AtomicInteger();
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserJpaRepository userRepository;
+
+    @Autowired
+    private ItemJpaRepository itemRepository;
+
+    @Autowired
+    private BookingJpaRepository bookingRepository;
+
+    @Autowired
+    private RequestJpaRepository requestRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private User owner;
+
+    private User booker;
+
+    private Item item;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = createUser();
+        booker = createUser();
+        item = itemRepository.save(new Item(null, "Дрель", "Простая дрель", true, owner, null));
+    }
+
+    @Test
+    void createBooking_thenUserAndItemLoadedOnce() {
+        BookingDto bookingDto = BookingDto.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build();
+
+        statistics.clear();
+        bookingService.createBooking(booker.getId(), bookingDto);
+
+        assertQueryCount(5);
+    }
+
+    @Test
+    void approvedBooking_thenBookingLoadedOnce() {
+        Booking booking = createBooking(Status.WAITING);
+
+        statistics.clear();
+        bookingService.approvedBooking(owner.getId(), booking.getId(), true);
+
+        assertQueryCount(4);
+    }
+
+    @Test
+    void findBookingById_thenSingleQuery() {
+        Booking booking = createBooking(Status.WAITING);
+
+        statistics.clear();
+        bookingService.findBookingById(booker.getId(), booking.getId());
+
+        assertQueryCount(1);
+    }
+
+    @Test
+    void findBookingByUserId_thenProjectionWithoutEntities() {
+        for (int i = 0; i < 10; i++) {
+            createBooking(Status.APPROVED, LocalDateTime.now().plusDays(i * 2 + 1), LocalDateTime.now().plusDays(i * 2 + 2));
+        }
+
+        statistics.clear();
+        long allocatedBefore = allocatedBytes();
+        List<BookingResponseDto> bookings = bookingService.findBookingByUserId(booker.getId(), "ALL", 0, 20);
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        log.info("Страница из {} бронирований: запросов {}, загружено сущностей {}, выделено {} байт",
+                bookings.size(), statistics.getPrepareStatementCount(), statistics.getEntityLoadCount(), allocated);
+        assertEquals(10, bookings.size());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertQueryCount(2);
+    }
+
+    @Test
+    void exportBookingsByOwnerId_thenSingleQueryWithoutEntities() {
+        for (int i = 0; i < 10; i++) {
+            createBooking(Status.APPROVED, LocalDateTime.now().plusDays(i * 2 + 1), LocalDateTime.now().plusDays(i * 2 + 2));
+        }
+        List<BookingResponseDto> bookings = new ArrayList<>();
+
+        statistics.clear();
+        bookingService.exportBookingsByOwnerId(owner.getId(), bookings::add);
+
+        assertEquals(10, bookings.size());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertQueryCount(2);
+    }
+
+    @Test
+    void getAllUserItems_thenOwnerAndRequestNotLoaded() {
+        statistics.clear();
+        itemService.getAllUserItems(owner.getId(), 0, 20);
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertQueryCount(4);
+    }
+
+    @Test
+    void createItem_thenOwnerLoadedOnce() {
+        ItemDto itemDto = ItemDto.builder()
+                .name("Отвертка")
+                .description("Аккумуляторная отвертка")
+                .available(true)
+                .build();
+
+        statistics.clear();
+        itemService.createItem(owner.getId(), itemDto);
+
+        assertQueryCount(3);
+    }
+
+    @Test
+    void createItems_thenInsertsBatched() {
+        List<ItemDto> itemDtos = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            itemDtos.add(ItemDto.builder()
+                    .name("Вещь" + i)
+                    .description("Описание" + i)
+                    .available(true)
+                    .build());
+        }
+
+        statistics.clear();
+        ItemBatchResultDto result = itemService.createItems(owner.getId(), itemDtos);
+
+        log.info("Пакетное создание {} вещей: запросов {}", itemDtos.size(), statistics.getPrepareStatementCount());
+        assertEquals(1000, result.getCreated().size());
+        assertTrue(result.getErrors().isEmpty());
+        assertEquals(1000, statistics.getEntityInsertCount());
+        assertQueryCount(50);
+    }
+
+    @Test
+    void changeItem_thenItemLoadedOnce() {
+        ItemDto itemDto = ItemDto.builder()
+                .name("Дрель+")
+                .build();
+
+        statistics.clear();
+        itemService.changeItem(owner.getId(), item.getId(), itemDto);
+
+        assertQueryCount(2);
+    }
+
+    @Test
+    void findItemById_whenNotOwner_thenItemLoadedOnce() {
+        statistics.clear();
+        itemService.findItemById(booker.getId(), item.getId());
+
+        assertQueryCount(3);
+    }
+
+    @Test
+    void createComment_thenAuthorAndItemLoadedOnce() {
+        createBooking(Status.APPROVED, LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1));
+
+        statistics.clear();
+        itemService.createComment(booker.getId(), item.getId(), Comment.builder().text("Комментарий").build());
+
+        assertQueryCount(6);
+    }
+
+    @Test
+    void createRequest_thenUserLoadedOnce() {
+        statistics.clear();
+        requestService.createRequest(booker.getId(), ItemRequest.builder().description("Нужна дрель").build());
+
+        assertQueryCount(3);
+    }
+
+    @Test
+    void findRequestById_thenRequestLoadedOnce() {
+        ItemRequest request = requestRepository.save(new ItemRequest(null, booker, "Нужна дрель",
+                LocalDateTime.now()));
+
+        statistics.clear();
+        requestService.findRequestById(owner.getId(), request.getId());
+
+        assertQueryCount(3);
+    }
+
+    @Test
+    void changeUser_thenUserLoadedOnce() {
+        statistics.clear();
+        userService.changeUser(owner.getId(), UserDto.builder().name("Новое имя").build());
+
+        assertQueryCount(2);
+    }
+
+    @Test
+    void findItemView_thenETagAndOwnerFromOneLoad() {
+        statistics.clear();
+        ItemViewDto view = itemService.findItemView(booker.getId(), item.getId());
+
+        assertEquals(owner.getId(), view.getOwnerId());
+        assertQueryCount(3);
+
+        statistics.clear();
+        itemService.findItemView(booker.getId(), item.getId());
+
+        assertQueryCount(1);
+    }
+
+    private void assertQueryCount(long maxQueries) {
+        long queries = statistics.getPrepareStatementCount();
+        assertTrue(queries <= maxQueries, "Выполнено запросов: " + queries + ", ожидалось не больше " + maxQueries);
+    }
+
+    private long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private User createUser() {
+        int number = USER_COUNTER.incrementAndGet();
+        return userRepository.save(new User(null, "query" + number + "@mail.ru", "User" + number));
+    }
+
+    private Booking createBooking(Status status) {
+        return createBooking(status, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+    }
+
+    private Booking createBooking(Status status, LocalDateTime start, LocalDateTime end) {
+        return bookingRepository.save(new Booking(null, start, end, item, booker, status));
+    }
+
+}
@@ -8,14 +8,22 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.service.BookingServiceJpaImpl;
 import java.time.LocalDateTime;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -100,4 +108,58 @@ class BookingControllerTest {
         verify(bookingService).findBookingByOwnerId(userId, "ALL", 0, 20);
     }
 
-}
\ No newline at end of file
+    @SneakyThrows
+    @Test
+    void getBookingsByUserIdAfterCursor() {
+        int userId = 1;
+
+        mockMvc.perform(get("/bookings")
+                        .param("cursor", "")
+                        .param("size", "10")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk());
+
+        verify(bookingService).findBookingByUserIdAfterCursor(userId, "ALL", "", 10);
+    }
+
+    @SneakyThrows
+    @Test
+    void getBookingsByOwnerIdAfterCursor() {
+        int userId = 1;
+
+        mockMvc.perform(get("/bookings/owner")
+                        .param("cursor", "abc")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk());
+
+        verify(bookingService).findBookingByOwnerIdAfterCursor(userId, "ALL", "abc", 20);
+    }
+
+    @SneakyThrows
+    @Test
+    void exportBookingsByOwnerId() {
+        int userId = 1;
+        BookingResponseDto first = new BookingResponseDto(1, LocalDateTime.of(2033, 9, 5, 12, 0),
+                LocalDateTime.of(2033, 10, 5, 12, 0), Status.APPROVED, 1, "ItemName", 2);
+        BookingResponseDto second = new BookingResponseDto(2, LocalDateTime.of(2033, 8, 5, 12, 0),
+                LocalDateTime.of(2033, 9, 1, 12, 0), Status.WAITING, 1, "ItemName", 3);
+        doAnswer(invocation -> {
+            Consumer<BookingResponseDto> consumer = invocation.getArgument(1);
+            consumer.accept(first);
+            consumer.accept(second);
+            return null;
+        }).when(bookingService).exportBookingsByOwnerId(eq(userId), any());
+
+        String content = mockMvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals(objectMapper.writeValueAsString(first) + "\n" + objectMapper.writeValueAsString(second) + "\n",
+                content);
+    }
+
+}
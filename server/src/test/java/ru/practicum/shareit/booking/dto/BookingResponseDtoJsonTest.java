@@ -0,0 +1,40 @@
+package ru.practicum.shareit.booking.dto;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.boot.test.json.JacksonTester;
+import org.springframework.boot.test.json.JsonContent;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+
+@JsonTest
+class BookingResponseDtoJsonTest {
+
+    @Autowired
+    private JacksonTester<BookingResponseDto> json;
+
+    @Test
+    void testBookingResponseDto() throws Exception {
+        BookingResponseDto bookingDto = new BookingResponseDto(1,
+                LocalDateTime.of(2023, 6, 1, 12, 0, 0),
+                LocalDateTime.of(2023, 6, 10, 12, 0, 0),
+                Status.APPROVED, 3, "itemName", 2);
+
+        JsonContent<BookingResponseDto> result = json.write(bookingDto);
+
+        assertThat(result).extractingJsonPathNumberValue("$.id").isEqualTo(1);
+        assertThat(result).extractingJsonPathStringValue("$.start").isEqualTo("2023-06-01T12:00:00");
+        assertThat(result).extractingJsonPathStringValue("$.end").isEqualTo("2023-06-10T12:00:00");
+        assertThat(result).extractingJsonPathStringValue("$.status").isEqualTo("APPROVED");
+        assertThat(result).extractingJsonPathNumberValue("$.item.id").isEqualTo(3);
+        assertThat(result).extractingJsonPathStringValue("$.item.name").isEqualTo("itemName");
+        assertThat(result).extractingJsonPathNumberValue("$.booker.id").isEqualTo(2);
+        assertThat(result).doesNotHaveJsonPath("$.item.owner");
+        assertThat(result).doesNotHaveJsonPath("$.booker.email");
+    }
+
+}
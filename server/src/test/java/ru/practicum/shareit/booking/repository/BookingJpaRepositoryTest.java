@@ -8,10 +8,13 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserJpaRepository;
 
@@ -47,6 +50,8 @@ class BookingJpaRepositoryTest {
 
     private Pageable page = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "end"));
 
+    private LocalDateTime now = LocalDateTime.of(2023, 5, 15, 12, 0, 0);
+
     @BeforeAll
     public void setUp() {
         User owner = new User(1, "email1@mail.ru", "Name1");
@@ -103,56 +108,97 @@ class BookingJpaRepositoryTest {
 
     @Test
     void findByBookerId() {
-        List<Booking> actualList = bookingRepository.findByBookerId(2, page);
+        List<BookingResponseDto> actualList = bookingRepository.findByBookerId(2, page);
 
         assertFalse(actualList.isEmpty());
         assertEquals(5, actualList.size());
     }
 
+    @Test
+    void findByBookerId_whenOffsetPage_thenReturnedOnlyRequestedRows() {
+        List<BookingResponseDto> allBookings = bookingRepository.findByBookerId(2, page);
+        List<BookingResponseDto> middlePage = bookingRepository.findByBookerId(2,
+                OffsetPageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "end")));
+        List<BookingResponseDto> lastPage = bookingRepository.findByBookerId(2,
+                OffsetPageRequest.of(4, 2, Sort.by(Sort.Direction.DESC, "end")));
+
+        assertEquals(allBookings.subList(1, 3), middlePage);
+        assertEquals(1, lastPage.size());
+        assertEquals(allBookings.get(4), lastPage.get(0));
+    }
+
+    @Test
+    void findByBookerIdAfterCursor() {
+        List<BookingResponseDto> actualList = bookingRepository.findByBookerIdAfterCursor(2, booking1.getEnd(),
+                booking1.getId(), PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "end")
+                        .and(Sort.by(Sort.Direction.DESC, "id"))));
+
+        assertEquals(2, actualList.size());
+        assertEquals(BookingMapper.bookingToBookingResponseDto(booking3), actualList.get(0));
+        assertEquals(BookingMapper.bookingToBookingResponseDto(booking2), actualList.get(1));
+    }
+
+    @Test
+    void findByOwnerIdAndStatusAfterCursor() {
+        List<BookingResponseDto> actualList = bookingRepository.findByOwnerIdAndStatusAfterCursor(1, booking4.getEnd(),
+                booking4.getId(), Status.APPROVED, page);
+
+        assertEquals(2, actualList.size());
+        assertEquals(BookingMapper.bookingToBookingResponseDto(booking1), actualList.get(0));
+        assertEquals(BookingMapper.bookingToBookingResponseDto(booking3), actualList.get(1));
+    }
+
+    @Test
+    void findById_thenItemLoadedWithBooking() {
+        Booking actualBooking = bookingRepository.findById(1).get();
+
+        assertEquals("ItemName", actualBooking.getItem().getName());
+    }
+
     @Test
     void findByBookerIdAndEndIsBefore() {
-        List<Booking> actualList = bookingRepository.findByBookerIdAndEndIsBefore(2,
+        List<BookingResponseDto> actualList = bookingRepository.findByBookerIdAndEndIsBefore(2,
                 LocalDateTime.of(2023, 5, 1, 12, 0, 0), page);
 
         assertFalse(actualList.isEmpty());
         assertEquals(2, actualList.size());
-        assertEquals(booking3, actualList.get(0));
-        assertEquals(booking2, actualList.get(1));
+        assertEquals(BookingMapper.bookingToBookingResponseDto(booking3), actualList.get(0));
+        assertEquals(BookingMapper.bookingToBookingResponseDto(booking2), actualList.get(1));
     }
 
     @Test
     void findByBookerIdAndStartIsAfter() {
-        List<Booking> actualList = bookingRepository.findByBookerIdAndStartIsAfter(2,
+        List<BookingResponseDto> actualList = bookingRepository.findByBookerIdAndStartIsAfter(2,
                 LocalDateTime.of(2023, 6, 1, 10, 0, 0), page);
 
         assertFalse(actualList.isEmpty());
         assertEquals(2, actualList.size());
-        assertEquals(booking5, actualList.get(0));
-        assertEquals(booking4, actualList.get(1));
+        assertEquals(BookingMapper.bookingToBookingResponseDto(booking5), actualList.get(0));
+        assertEquals(BookingMapper.bookingToBookingResponseDto(booking4), actualList.get(1));
     }
 
     @Test
     void findByBookerIdAndStatus() {
-        List<Booking> actualList = bookingRepository.findByBookerIdAndStatus(2,
+        List<BookingResponseDto> actualList = bookingRepository.findByBookerIdAndStatus(2,
                 Status.REJECTED, page);
 
         assertFalse(actualList.isEmpty());
         assertEquals(1, actualList.size());
-        assertEquals(booking2, actualList.get(0));
+        assertEquals(BookingMapper.bookingToBookingResponseDto(booking2), actualList.get(0));
     }
 
     @Test
     void findCurrentByBookerId() {
-        List<Booking> actualList = bookingRepository.findCurrentByBookerId(2, page);
+        List<BookingResponseDto> actualList = bookingRepository.findCurrentByBookerId(2, now, page);
 
         assertFalse(actualList.isEmpty());
         assertEquals(1, actualList.size());
-        assertEquals(booking1, actualList.get(0));
+        assertEquals(BookingMapper.bookingToBookingResponseDto(booking1), actualList.get(0));
     }
 
     @Test
     void findByOwnerId() {
-        List<Booking> actualList = bookingRepository.findByOwnerId(1, page);
+        List<BookingResponseDto> actualList = bookingRepository.findByOwnerId(1, page);
 
         assertFalse(actualList.isEmpty());
         assertEquals(5, actualList.size());
@@ -160,69 +206,85 @@ class BookingJpaRepositoryTest {
 
     @Test
     void findCurrentByOwnerId() {
-        List<Booking> actualList = bookingRepository.findCurrentByOwnerId(1, page);
+        List<BookingResponseDto> actualList = bookingRepository.findCurrentByOwnerId(1, now, page);
 
         assertFalse(actualList.isEmpty());
         assertEquals(1, actualList.size());
-        assertEquals(booking1, actualList.get(0));
+        assertEquals(BookingMapper.bookingToBookingResponseDto(booking1), actualList.get(0));
     }
 
     @Test
     void findPastByOwnerId() {
-        List<Booking> actualList = bookingRepository.findPastByOwnerId(1, page);
+        List<BookingResponseDto> actualList = bookingRepository.findPastByOwnerId(1, now, page);
 
         assertFalse(actualList.isEmpty());
         assertEquals(2, actualList.size());
-        assertEquals(booking3, actualList.get(0));
-        assertEquals(booking2, actualList.get(1));
+        assertEquals(BookingMapper.bookingToBookingResponseDto(booking3), actualList.get(0));
+        assertEquals(BookingMapper.bookingToBookingResponseDto(booking2), actualList.get(1));
     }
 
     @Test
     void findFutureByOwnerId() {
-        List<Booking> actualList = bookingRepository.findFutureByOwnerId(1, page);
+        List<BookingResponseDto> actualList = bookingRepository.findFutureByOwnerId(1, now, page);
 
         assertFalse(actualList.isEmpty());
         assertEquals(2, actualList.size());
-        assertEquals(booking5, actualList.get(0));
-        assertEquals(booking4, actualList.get(1));
+        assertEquals(BookingMapper.bookingToBookingResponseDto(booking5), actualList.get(0));
+        assertEquals(BookingMapper.bookingToBookingResponseDto(booking4), actualList.get(1));
     }
 
     @Test
     void findWaitingByOwnerId() {
-        List<Booking> actualList = bookingRepository.findWaitingByOwnerId(1, page);
+        List<BookingResponseDto> actualList = bookingRepository.findWaitingByOwnerId(1, page);
 
         assertFalse(actualList.isEmpty());
         assertEquals(1, actualList.size());
-        assertEquals(booking5, actualList.get(0));
+        assertEquals(BookingMapper.bookingToBookingResponseDto(booking5), actualList.get(0));
     }
 
     @Test
     void findRejectedByOwnerId() {
-        List<Booking> actualList = bookingRepository.findRejectedByOwnerId(1, page);
+        List<BookingResponseDto> actualList = bookingRepository.findRejectedByOwnerId(1, page);
 
         assertFalse(actualList.isEmpty());
         assertEquals(1, actualList.size());
-        assertEquals(booking2, actualList.get(0));
+        assertEquals(BookingMapper.bookingToBookingResponseDto(booking2), actualList.get(0));
     }
 
     @Test
-    void findByItemId() {
-        List<Booking> actualList = bookingRepository.findByItemId(1);
+    void existsByItemIdAndStartIsBeforeAndEndIsAfterAndStatusIn_whenOverlapsApproved_thenTrue() {
+        assertTrue(bookingRepository.existsByItemIdAndStartIsBeforeAndEndIsAfterAndStatusIn(1,
+                LocalDateTime.of(2023, 5, 12, 12, 0, 0),
+                LocalDateTime.of(2023, 5, 10, 12, 0, 0),
+                List.of(Status.WAITING, Status.APPROVED)));
+    }
 
-        assertFalse(actualList.isEmpty());
-        assertEquals(5, actualList.size());
+    @Test
+    void existsByItemIdAndStartIsBeforeAndEndIsAfterAndStatusIn_whenOverlapsRejected_thenFalse() {
+        assertFalse(bookingRepository.existsByItemIdAndStartIsBeforeAndEndIsAfterAndStatusIn(1,
+                LocalDateTime.of(2023, 4, 5, 12, 0, 0),
+                LocalDateTime.of(2023, 4, 2, 12, 0, 0),
+                List.of(Status.WAITING, Status.APPROVED)));
+    }
+
+    @Test
+    void existsByItemIdAndStartIsBeforeAndEndIsAfterAndStatusIn_whenAdjacent_thenFalse() {
+        assertFalse(bookingRepository.existsByItemIdAndStartIsBeforeAndEndIsAfterAndStatusIn(1,
+                LocalDateTime.of(2023, 6, 1, 12, 0, 0),
+                LocalDateTime.of(2023, 5, 31, 12, 0, 0),
+                List.of(Status.WAITING, Status.APPROVED)));
     }
 
     @Test
     void findLastBookingForItem() {
-        Optional<Booking> actualBooking = bookingRepository.findLastBookingForItem(1);
+        Optional<Booking> actualBooking = bookingRepository.findLastBookingForItem(1, now);
 
         assertEquals(booking1, actualBooking.get());
     }
 
     @Test
     void findNextBookingForItem() {
-        Optional<Booking> actualBooking = bookingRepository.findNextBookingForItem(1);
+        Optional<Booking> actualBooking = bookingRepository.findNextBookingForItem(1, now);
 
         assertEquals(booking4, actualBooking.get());
     }
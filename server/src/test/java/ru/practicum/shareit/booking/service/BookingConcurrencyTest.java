@@ -0,0 +1,219 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingJpaRepository;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserJpaRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Одновременное бронирование вещей 64 клиентами.
+ * Пересекающихся активных бронирований одной вещи быть не должно.
+ * База общая с другими тестами, поэтому созданные данные удаляются после каждого теста.
+ */
+@Slf4j
+@SpringBootTest
+@AutoConfigureTestDatabase
+class BookingConcurrencyTest {
+
+    private static final int CLIENTS = 64;
+
+    private static final int BOOKINGS_PER_CLIENT = 20;
+
+    private static final int ITEMS = 8;
+
+    private static final int SLOTS = 30;
+
+    private static final AtomicInteger USER_COUNTER = new AtomicInteger();
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserJpaRepository userRepository;
+
+    @Autowired
+    private ItemJpaRepository itemRepository;
+
+    @Autowired
+    private BookingJpaRepository bookingRepository;
+
+    private final List<Integer> userIds = new ArrayList<>();
+
+    private final List<Integer> itemIds = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        bookingRepository.deleteAllInBatch(bookingRepository.findAll().stream()
+                .filter(booking -> itemIds.contains(booking.getItem().getId()))
+                .collect(Collectors.toList()));
+        itemRepository.deleteAllByIdInBatch(itemIds);
+        userRepository.deleteAllById(userIds);
+        itemIds.clear();
+        userIds.clear();
+    }
+
+    @Test
+    void createBooking_whenSameItemAndPeriod_thenOnlyOneBookingCreated() throws Exception {
+        User owner = createUser();
+        Item item = createItem(new Item(null, "Дрель", "Простая дрель", true, owner, null));
+        List<User> bookers = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            bookers.add(createUser());
+        }
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        BookingDto bookingDto = BookingDto.builder()
+                .itemId(item.getId())
+                .start(start)
+                .end(start.plusHours(12))
+                .build();
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        List<Callable<Void>> clients = new ArrayList<>();
+        for (User booker : bookers) {
+            clients.add(() -> {
+                try {
+                    bookingService.createBooking(booker.getId(), bookingDto);
+                    created.incrementAndGet();
+                } catch (ValidationException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        runConcurrently(clients);
+
+        assertEquals(1, created.get());
+        assertEquals(CLIENTS - 1, rejected.get());
+        assertNoOverlaps(List.of(item));
+    }
+
+    @Test
+    void createBooking_whenManyClients_thenNoDoubleBookings() throws Exception {
+        User owner = createUser();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(createItem(new Item(null, "Вещь" + i, "Описание" + i, true, owner, null)));
+        }
+        LocalDateTime firstSlot = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        List<Callable<Void>> clients = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            User booker = createUser();
+            clients.add(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int j = 0; j < BOOKINGS_PER_CLIENT; j++) {
+                    LocalDateTime start = firstSlot.plusDays(random.nextInt(SLOTS));
+                    BookingDto bookingDto = BookingDto.builder()
+                            .itemId(items.get(random.nextInt(ITEMS)).getId())
+                            .start(start)
+                            .end(start.plusHours(1 + random.nextInt(36)))
+                            .build();
+                    try {
+                        bookingService.createBooking(booker.getId(), bookingDto);
+                        created.incrementAndGet();
+                    } catch (ValidationException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        long startTime = System.nanoTime();
+        runConcurrently(clients);
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startTime) / 1_000_000);
+
+        log.info("{} клиентов, {} попыток за {} мс ({} попыток/с), создано {}, отклонено {}", CLIENTS,
+                CLIENTS * BOOKINGS_PER_CLIENT, elapsedMillis, CLIENTS * BOOKINGS_PER_CLIENT * 1000L / elapsedMillis,
+                created.get(), rejected.get());
+        assertEquals(CLIENTS * BOOKINGS_PER_CLIENT, created.get() + rejected.get());
+        assertTrue(created.get() > 0);
+        assertNoOverlaps(items);
+    }
+
+    private void runConcurrently(List<Callable<Void>> clients) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> client : clients) {
+                futures.add(executor.submit(() -> {
+                    startSignal.await();
+                    return client.call();
+                }));
+            }
+            startSignal.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertNoOverlaps(List<Item> items) {
+        Set<Integer> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toSet());
+        Map<Integer, List<Booking>> bookingsByItem = bookingRepository.findAll().stream()
+                .filter(booking -> itemIds.contains(booking.getItem().getId()))
+                .filter(booking -> (booking.getStatus() == Status.WAITING) ||
+                        (booking.getStatus() == Status.APPROVED))
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+        bookingsByItem.values().forEach(bookings -> {
+            for (int i = 0; i < bookings.size(); i++) {
+                for (int j = i + 1; j < bookings.size(); j++) {
+                    Booking first = bookings.get(i);
+                    Booking second = bookings.get(j);
+                    assertFalse(first.getStart().isBefore(second.getEnd()) &&
+                            first.getEnd().isAfter(second.getStart()),
+                            "Пересекаются бронирования " + first.getId() + " и " + second.getId());
+                }
+            }
+        });
+    }
+
+    private Item createItem(Item item) {
+        Item savedItem = itemRepository.save(item);
+        itemIds.add(savedItem.getId());
+        return savedItem;
+    }
+
+    private User createUser() {
+        int number = USER_COUNTER.incrementAndGet();
+        User user = userRepository.save(new User(null, "concurrent" + number + "@mail.ru", "User" + number));
+        userIds.add(user.getId());
+        return user;
+    }
+
+}
@@ -6,33 +6,51 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.event.BookingSavedEvent;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingJpaRepository;
 import ru.practicum.shareit.exception.*;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.pointer.BookingPointerService;
 import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.pagination.BookingCursor;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserJpaRepository;
 import ru.practicum.shareit.validator.Validator;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class BookingServiceJpaImplTest {
 
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+    private static final LocalDateTime END = START.plusDays(10);
+
     @Mock
     private BookingJpaRepository bookingRepository;
 
@@ -42,8 +60,14 @@ class BookingServiceJpaImplTest {
     @Mock
     private UserJpaRepository userRepository;
 
+    @Spy
+    private Validator validator = new Validator();
+
     @Mock
-    private Validator validator;
+    private BookingPointerService bookingPointerService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     private User owner = User.builder()
             .id(1)
@@ -70,8 +94,8 @@ class BookingServiceJpaImplTest {
             .id(1)
             .item(expectedItem)
             .booker(booker)
-            .start(LocalDateTime.of(2023, 6, 17, 12, 0))
-            .end(LocalDateTime.of(2023, 6, 27, 12, 00))
+            .start(START)
+            .end(END)
             .status(Status.WAITING)
             .build();
 
@@ -88,20 +112,18 @@ class BookingServiceJpaImplTest {
         BookingDto bookingDto = BookingDto.builder()
                 .id(1)
                 .itemId(itemId)
-                .start(LocalDateTime.of(2023, 6, 17, 12, 0))
-                .end(LocalDateTime.of(2023, 6, 27, 12, 0))
+                .start(START)
+                .end(END)
                 .build();
 
-        when(validator.validateUser(userId, userRepository)).thenReturn(true);
-        when(validator.validateItem(itemId, itemRepository)).thenReturn(true);
         when(userRepository.findById(userId)).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(expectedItem));
-        when(bookingRepository.save(expectedBooking)).thenReturn(expectedBooking);
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(expectedItem));
+        when(bookingRepository.saveAndFlush(expectedBooking)).thenReturn(expectedBooking);
 
-        Booking actualBooking = bookingService.createBooking(userId, bookingDto);
+        BookingResponseDto actualBooking = bookingService.createBooking(userId, bookingDto);
 
-        assertEquals(expectedBooking, actualBooking);
-        verify(bookingRepository).save(bookingCapture.capture());
+        assertEquals(BookingMapper.bookingToBookingResponseDto(expectedBooking), actualBooking);
+        verify(bookingRepository).saveAndFlush(bookingCapture.capture());
         Booking savedBooking = bookingCapture.getValue();
         assertEquals(expectedBooking, savedBooking);
     }
@@ -113,12 +135,12 @@ class BookingServiceJpaImplTest {
         BookingDto bookingDto = BookingDto.builder()
                 .id(1)
                 .itemId(itemId)
-                .start(LocalDateTime.of(2023, 6, 17, 12, 0))
+                .start(START)
                 .end(null)
                 .build();
 
-        when(validator.validateUser(userId, userRepository)).thenReturn(true);
-        when(validator.validateItem(itemId, itemRepository)).thenReturn(true);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(booker));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(expectedItem));
 
         assertThrows(ValidationException.class,
                 () -> bookingService.createBooking(userId, bookingDto));
@@ -131,13 +153,12 @@ class BookingServiceJpaImplTest {
         BookingDto bookingDto = BookingDto.builder()
                 .id(1)
                 .itemId(itemId)
-                .start(LocalDateTime.of(2023, 6, 17, 12, 0))
-                .end(LocalDateTime.of(2023, 6, 27, 12, 0))
+                .start(START)
+                .end(END)
                 .build();
 
-        when(validator.validateUser(userId, userRepository)).thenReturn(true);
-        when(validator.validateItem(itemId, itemRepository)).thenReturn(true);
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(expectedItem));
+        when(userRepository.findById(userId)).thenReturn(Optional.of(owner));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(expectedItem));
 
         assertThrows(BookingNotFoundException.class,
                 () -> bookingService.createBooking(userId, bookingDto));
@@ -151,13 +172,12 @@ class BookingServiceJpaImplTest {
         BookingDto bookingDto = BookingDto.builder()
                 .id(1)
                 .itemId(itemId)
-                .start(LocalDateTime.of(2023, 6, 17, 12, 0))
-                .end(LocalDateTime.of(2023, 6, 27, 12, 0))
+                .start(START)
+                .end(END)
                 .build();
 
-        when(validator.validateUser(userId, userRepository)).thenReturn(true);
-        when(validator.validateItem(itemId, itemRepository)).thenReturn(true);
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(expectedItem));
+        when(userRepository.findById(userId)).thenReturn(Optional.of(booker));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(expectedItem));
 
         assertThrows(ItemNotAvailableException.class,
                 () -> bookingService.createBooking(userId, bookingDto));
@@ -166,18 +186,96 @@ class BookingServiceJpaImplTest {
     }
 
     @Test
-    void createBooking_whenUserOrItemNotValid_thenUserNotFoundExceptionTrown() {
+    void createBooking_whenItemAlreadyBooked_thenValidationExceptionTrown() {
+        int userId = 2;
+        int itemId = 1;
+        BookingDto bookingDto = BookingDto.builder()
+                .id(1)
+                .itemId(itemId)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build();
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(booker));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(expectedItem));
+        when(bookingRepository.existsByItemIdAndStartIsBeforeAndEndIsAfterAndStatusIn(itemId,
+                bookingDto.getEnd(), bookingDto.getStart(), List.of(Status.WAITING, Status.APPROVED)))
+                .thenReturn(true);
+
+        assertThrows(ValidationException.class,
+                () -> bookingService.createBooking(userId, bookingDto));
+        verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
+    }
+
+    @Test
+    void createBooking_whenExclusionConstraintViolated_thenValidationExceptionTrown() {
+        int userId = 2;
+        int itemId = 1;
+        BookingDto bookingDto = BookingDto.builder()
+                .id(1)
+                .itemId(itemId)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build();
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(booker));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(expectedItem));
+        when(bookingRepository.saveAndFlush(any(Booking.class)))
+                .thenThrow(new DataIntegrityViolationException("bookings_item_period_excl"));
+
+        assertThrows(ValidationException.class,
+                () -> bookingService.createBooking(userId, bookingDto));
+    }
+
+    @Test
+    void createBooking_whenOtherConstraintViolated_thenExceptionRethrown() {
+        int userId = 2;
+        int itemId = 1;
+        BookingDto bookingDto = BookingDto.builder()
+                .id(1)
+                .itemId(itemId)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build();
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(booker));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(expectedItem));
+        when(bookingRepository.saveAndFlush(any(Booking.class)))
+                .thenThrow(new DataIntegrityViolationException("bookings_booker_id_fkey"));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> bookingService.createBooking(userId, bookingDto));
+    }
+
+    @Test
+    void createBooking_whenItemNotFound_thenItemNotFoundExceptionTrown() {
         int userId = 2;
         int itemId = 1;
         BookingDto bookingDto = BookingDto.builder()
                 .id(1)
                 .itemId(itemId)
-                .start(LocalDateTime.of(2023, 6, 17, 12, 0))
-                .end(LocalDateTime.of(2023, 6, 27, 12, 0))
+                .start(START)
+                .end(END)
+                .build();
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(booker));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.empty());
+
+        assertThrows(ItemNotFoundException.class,
+                () -> bookingService.createBooking(userId, bookingDto));
+    }
+
+    @Test
+    void createBooking_whenUserNotFound_thenUserNotFoundExceptionTrown() {
+        int userId = 2;
+        BookingDto bookingDto = BookingDto.builder()
+                .id(1)
+                .itemId(1)
+                .start(START)
+                .end(END)
                 .build();
 
-        when(validator.validateUser(userId, userRepository)).thenReturn(true);
-        when(validator.validateItem(itemId, itemRepository)).thenReturn(false);
+        when(userRepository.findById(userId)).thenReturn(Optional.empty());
 
         assertThrows(UserNotFoundException.class,
                 () -> bookingService.createBooking(userId, bookingDto));
@@ -187,17 +285,17 @@ class BookingServiceJpaImplTest {
     void approvedBooking_whenValid_thenReturnedBooking() {
         int bookingId = 1;
 
-        when(validator.validateBookingAndItem(bookingId, bookingRepository, itemRepository)).thenReturn(true);
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(expectedBooking));
-        when(itemRepository.findById(expectedBooking.getItem().getId())).thenReturn(Optional.of(expectedItem));
         when(bookingRepository.save(expectedBooking)).thenReturn(expectedBooking);
 
-        Booking actualBooking = bookingService.approvedBooking(owner.getId(), bookingId, true);
+        BookingResponseDto actualBooking = bookingService.approvedBooking(owner.getId(), bookingId, true);
 
         assertEquals(Status.APPROVED, actualBooking.getStatus());
         verify(bookingRepository).save(bookingCapture.capture());
         Booking savedBooking = bookingCapture.getValue();
         assertEquals(Status.APPROVED, savedBooking.getStatus());
+        verify(bookingPointerService).onBookingApproved(expectedBooking);
+        verify(eventPublisher).publishEvent(any(BookingSavedEvent.class));
     }
 
     @Test
@@ -206,9 +304,7 @@ class BookingServiceJpaImplTest {
         int bookingId = 1;
         expectedBooking.setStatus(Status.APPROVED);
 
-        when(validator.validateBookingAndItem(bookingId, bookingRepository, itemRepository)).thenReturn(true);
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(expectedBooking));
-        when(itemRepository.findById(expectedBooking.getItem().getId())).thenReturn(Optional.of(expectedItem));
 
         assertThrows(BookingApproveException.class,
                 () -> bookingService.approvedBooking(userId, bookingId, true));
@@ -220,9 +316,7 @@ class BookingServiceJpaImplTest {
         int bookingId = 1;
         expectedBooking.setStatus(Status.APPROVED);
 
-        when(validator.validateBookingAndItem(bookingId, bookingRepository, itemRepository)).thenReturn(true);
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(expectedBooking));
-        when(itemRepository.findById(expectedBooking.getItem().getId())).thenReturn(Optional.of(expectedItem));
 
         assertThrows(AccessErrorException.class,
                 () -> bookingService.approvedBooking(userId, bookingId, true));
@@ -235,7 +329,7 @@ class BookingServiceJpaImplTest {
         int userId = 2;
         int bookingId = 1;
 
-        when(validator.validateBookingAndItem(bookingId, bookingRepository, itemRepository)).thenReturn(false);
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.empty());
 
         assertThrows(BookingNotFoundException.class,
                 () -> bookingService.approvedBooking(userId, bookingId, true));
@@ -245,22 +339,18 @@ class BookingServiceJpaImplTest {
     void findBookingById_whenBookerOrOwnerRequest_thenReturnedBooking() {
         int bookingId = 1;
 
-        when(validator.validateBookingAndItem(bookingId, bookingRepository, itemRepository)).thenReturn(true);
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(expectedBooking));
-        when(itemRepository.findById(expectedBooking.getItem().getId())).thenReturn(Optional.of(expectedItem));
 
-        Booking actualBooking = bookingService.findBookingById(owner.getId(), bookingId);
+        BookingResponseDto actualBooking = bookingService.findBookingById(owner.getId(), bookingId);
 
-        assertEquals(expectedBooking, actualBooking);
+        assertEquals(BookingMapper.bookingToBookingResponseDto(expectedBooking), actualBooking);
     }
 
     @Test
     void findBookingById_whenNotBookerOrOwnerRequest_thenAccessErrorExceptionTrown() {
         int bookingId = 1;
 
-        when(validator.validateBookingAndItem(bookingId, bookingRepository, itemRepository)).thenReturn(true);
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(expectedBooking));
-        when(itemRepository.findById(expectedBooking.getItem().getId())).thenReturn(Optional.of(expectedItem));
 
         assertThrows(AccessErrorException.class,
                 () -> bookingService.findBookingById(10, bookingId));
@@ -270,7 +360,7 @@ class BookingServiceJpaImplTest {
     void findBookingById_whenBookingNotFound_thenBookingNotFoundExceptionTrown() {
         int bookingId = 1;
 
-        when(validator.validateBookingAndItem(bookingId, bookingRepository, itemRepository)).thenReturn(false);
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.empty());
 
         assertThrows(BookingNotFoundException.class,
                 () -> bookingService.findBookingById(10, bookingId));
@@ -278,61 +368,61 @@ class BookingServiceJpaImplTest {
 
     @Test
     void findBookingByUserId_whenValidAndCaseALL_thenReturnedListOfBookings() {
-        List<Booking> expectedList = new ArrayList<>();
-        Pageable page = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "end"));
+        List<BookingResponseDto> expectedList = new ArrayList<>();
+        Pageable page = OffsetPageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "end"));
 
-        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
+        when(userRepository.existsById(booker.getId())).thenReturn(true);
         when(bookingRepository.findByBookerId(booker.getId(), page)).thenReturn(expectedList);
 
-        List<Booking> actualList = bookingService.findBookingByUserId(booker.getId(), "ALL", 0, 20);
+        List<BookingResponseDto> actualList = bookingService.findBookingByUserId(booker.getId(), "ALL", 0, 20);
 
         assertEquals(expectedList, actualList);
     }
 
     @Test
     void findBookingByUserId_whenValidAndCaseCURRENT_thenReturnedListOfBookings() {
-        List<Booking> expectedList = new ArrayList<>();
-        Pageable page = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "end"));
+        List<BookingResponseDto> expectedList = new ArrayList<>();
+        Pageable page = OffsetPageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "end"));
 
-        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findCurrentByBookerId(booker.getId(), page)).thenReturn(expectedList);
+        when(userRepository.existsById(booker.getId())).thenReturn(true);
+        when(bookingRepository.findCurrentByBookerId(eq(booker.getId()), any(LocalDateTime.class), eq(page))).thenReturn(expectedList);
 
-        List<Booking> actualList = bookingService.findBookingByUserId(booker.getId(), "CURRENT", 0, 20);
+        List<BookingResponseDto> actualList = bookingService.findBookingByUserId(booker.getId(), "CURRENT", 0, 20);
 
         assertEquals(expectedList, actualList);
     }
 
     @Test
     void findBookingByUserId_whenValidAndCaseWAITING_thenReturnedListOfBookings() {
-        List<Booking> expectedList = new ArrayList<>();
-        Pageable page = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "end"));
+        List<BookingResponseDto> expectedList = new ArrayList<>();
+        Pageable page = OffsetPageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "end"));
 
-        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
+        when(userRepository.existsById(booker.getId())).thenReturn(true);
         when(bookingRepository.findByBookerIdAndStatus(booker.getId(), Status.WAITING, page))
                 .thenReturn(expectedList);
 
-        List<Booking> actualList = bookingService.findBookingByUserId(booker.getId(), "WAITING", 0, 20);
+        List<BookingResponseDto> actualList = bookingService.findBookingByUserId(booker.getId(), "WAITING", 0, 20);
 
         assertEquals(expectedList, actualList);
     }
 
     @Test
     void findBookingByUserId_whenValidAndCaseREJECTED_thenReturnedListOfBookings() {
-        List<Booking> expectedList = new ArrayList<>();
-        Pageable page = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "end"));
+        List<BookingResponseDto> expectedList = new ArrayList<>();
+        Pageable page = OffsetPageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "end"));
 
-        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
+        when(userRepository.existsById(booker.getId())).thenReturn(true);
         when(bookingRepository.findByBookerIdAndStatus(booker.getId(), Status.REJECTED, page))
                 .thenReturn(expectedList);
 
-        List<Booking> actualList = bookingService.findBookingByUserId(booker.getId(), "REJECTED", 0, 20);
+        List<BookingResponseDto> actualList = bookingService.findBookingByUserId(booker.getId(), "REJECTED", 0, 20);
 
         assertEquals(expectedList, actualList);
     }
 
     @Test
     void findBookingByUserId_whenUserNotFound_thenUserNotFoundExceptionTrown() {
-        when(userRepository.findById(booker.getId())).thenReturn(Optional.empty());
+        when(userRepository.existsById(booker.getId())).thenReturn(false);
 
         assertThrows(UserNotFoundException.class,
                 () -> bookingService.findBookingByUserId(booker.getId(), "ALL", 0, 20));
@@ -340,7 +430,7 @@ class BookingServiceJpaImplTest {
 
     @Test
     void findBookingByUserId_whenStateNotValid_thenUnsupportedStatusExceptionTrown() {
-        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
+        when(userRepository.existsById(booker.getId())).thenReturn(true);
 
         assertThrows(UnsupportedStatusException.class,
                 () -> bookingService.findBookingByUserId(booker.getId(), "LOL", 0, 20));
@@ -348,7 +438,7 @@ class BookingServiceJpaImplTest {
 
     @Test
     void findBookingByUserId_whenFromOrSizeNotValid_thenValidationExceptionTrown() {
-        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
+        when(userRepository.existsById(booker.getId())).thenReturn(true);
 
         assertThrows(ValidationException.class,
                 () -> bookingService.findBookingByUserId(booker.getId(), "ALL", 0, -20));
@@ -356,59 +446,59 @@ class BookingServiceJpaImplTest {
 
     @Test
     void findBookingByOwnerId_whenValidAndCaseALL_thenReturnedListOfBookings() {
-        List<Booking> expectedList = new ArrayList<>();
-        Pageable page = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "end"));
+        List<BookingResponseDto> expectedList = new ArrayList<>();
+        Pageable page = OffsetPageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "end"));
 
-        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
         when(bookingRepository.findByOwnerId(owner.getId(), page)).thenReturn(expectedList);
 
-        List<Booking> actualList = bookingService.findBookingByOwnerId(owner.getId(), "ALL", 0, 20);
+        List<BookingResponseDto> actualList = bookingService.findBookingByOwnerId(owner.getId(), "ALL", 0, 20);
 
         assertEquals(expectedList, actualList);
     }
 
     @Test
     void findBookingByOwnerId_whenValidAndCaseCURRENT_thenReturnedListOfBookings() {
-        List<Booking> expectedList = new ArrayList<>();
-        Pageable page = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "end"));
+        List<BookingResponseDto> expectedList = new ArrayList<>();
+        Pageable page = OffsetPageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "end"));
 
-        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(bookingRepository.findCurrentByOwnerId(owner.getId(), page)).thenReturn(expectedList);
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
+        when(bookingRepository.findCurrentByOwnerId(eq(owner.getId()), any(LocalDateTime.class), eq(page))).thenReturn(expectedList);
 
-        List<Booking> actualList = bookingService.findBookingByOwnerId(owner.getId(), "CURRENT", 0, 20);
+        List<BookingResponseDto> actualList = bookingService.findBookingByOwnerId(owner.getId(), "CURRENT", 0, 20);
 
         assertEquals(expectedList, actualList);
     }
 
     @Test
     void findBookingByOwnerId_whenValidAndCaseWAITING_thenReturnedListOfBookings() {
-        List<Booking> expectedList = new ArrayList<>();
-        Pageable page = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "end"));
+        List<BookingResponseDto> expectedList = new ArrayList<>();
+        Pageable page = OffsetPageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "end"));
 
-        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
         when(bookingRepository.findWaitingByOwnerId(owner.getId(), page)).thenReturn(expectedList);
 
-        List<Booking> actualList = bookingService.findBookingByOwnerId(owner.getId(), "WAITING", 0, 20);
+        List<BookingResponseDto> actualList = bookingService.findBookingByOwnerId(owner.getId(), "WAITING", 0, 20);
 
         assertEquals(expectedList, actualList);
     }
 
     @Test
     void findBookingByOwnerId_whenValidAndCaseREJECTED_thenReturnedListOfBookings() {
-        List<Booking> expectedList = new ArrayList<>();
-        Pageable page = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "end"));
+        List<BookingResponseDto> expectedList = new ArrayList<>();
+        Pageable page = OffsetPageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "end"));
 
-        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
         when(bookingRepository.findRejectedByOwnerId(owner.getId(), page)).thenReturn(expectedList);
 
-        List<Booking> actualList = bookingService.findBookingByOwnerId(owner.getId(), "REJECTED", 0, 20);
+        List<BookingResponseDto> actualList = bookingService.findBookingByOwnerId(owner.getId(), "REJECTED", 0, 20);
 
         assertEquals(expectedList, actualList);
     }
 
     @Test
     void findBookingByOwnerId_whenUserNotFound_thenUserNotFoundExceptionTrown() {
-        when(userRepository.findById(owner.getId())).thenReturn(Optional.empty());
+        when(userRepository.existsById(owner.getId())).thenReturn(false);
 
         assertThrows(UserNotFoundException.class,
                 () -> bookingService.findBookingByOwnerId(owner.getId(), "ALL", 0, 20));
@@ -416,7 +506,7 @@ class BookingServiceJpaImplTest {
 
     @Test
     void findBookingByOwnerId_whenStateNotValid_thenUnsupportedStatusExceptionTrown() {
-        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
 
         assertThrows(UnsupportedStatusException.class,
                 () -> bookingService.findBookingByOwnerId(owner.getId(), "LOL", 0, 20));
@@ -424,10 +514,90 @@ class BookingServiceJpaImplTest {
 
     @Test
     void findBookingByOwnerId_whenFromOrSizeNotValid_thenValidationExceptionTrown() {
-        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
 
         assertThrows(ValidationException.class,
                 () -> bookingService.findBookingByOwnerId(owner.getId(), "ALL", -5, 20));
     }
 
-}
\ No newline at end of file
+    @Test
+    void findBookingByUserIdAfterCursor_whenMoreBookingsThanPage_thenReturnedNextCursor() {
+        BookingResponseDto firstBooking = BookingMapper.bookingToBookingResponseDto(expectedBooking);
+        BookingResponseDto nextBooking = BookingResponseDto.builder().id(0).end(expectedBooking.getEnd()).build();
+        Pageable page = OffsetPageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "end")
+                .and(Sort.by(Sort.Direction.DESC, "id")));
+
+        when(userRepository.existsById(booker.getId())).thenReturn(true);
+        when(bookingRepository.findByBookerId(booker.getId(), page)).thenReturn(List.of(firstBooking, nextBooking));
+
+        BookingPageDto actualPage = bookingService.findBookingByUserIdAfterCursor(booker.getId(), "ALL",
+                null, 1);
+
+        assertEquals(List.of(firstBooking), actualPage.getBookings());
+        assertEquals(BookingCursor.of(firstBooking).encode(), actualPage.getNextCursor());
+    }
+
+    @Test
+    void findBookingByUserIdAfterCursor_whenLastPageFull_thenNextCursorIsNull() {
+        List<BookingResponseDto> expectedList = List.of(BookingMapper.bookingToBookingResponseDto(expectedBooking));
+        Pageable page = OffsetPageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "end")
+                .and(Sort.by(Sort.Direction.DESC, "id")));
+
+        when(userRepository.existsById(booker.getId())).thenReturn(true);
+        when(bookingRepository.findByBookerId(booker.getId(), page)).thenReturn(expectedList);
+
+        BookingPageDto actualPage = bookingService.findBookingByUserIdAfterCursor(booker.getId(), "ALL",
+                null, 1);
+
+        assertEquals(expectedList, actualPage.getBookings());
+        assertNull(actualPage.getNextCursor());
+    }
+
+    @Test
+    void findBookingByOwnerIdAfterCursor_whenLastPage_thenNextCursorIsNull() {
+        String cursor = BookingCursor.of(BookingMapper.bookingToBookingResponseDto(expectedBooking)).encode();
+        Pageable page = OffsetPageRequest.of(0, 21, Sort.by(Sort.Direction.DESC, "end")
+                .and(Sort.by(Sort.Direction.DESC, "id")));
+
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
+        when(bookingRepository.findByOwnerIdAndStatusAfterCursor(owner.getId(), expectedBooking.getEnd(),
+                expectedBooking.getId(), Status.WAITING, page)).thenReturn(new ArrayList<>());
+
+        BookingPageDto actualPage = bookingService.findBookingByOwnerIdAfterCursor(owner.getId(), "WAITING",
+                cursor, 20);
+
+        assertTrue(actualPage.getBookings().isEmpty());
+        assertNull(actualPage.getNextCursor());
+    }
+
+    @Test
+    void findBookingByUserIdAfterCursor_whenCursorNotValid_thenValidationExceptionTrown() {
+        when(userRepository.existsById(booker.getId())).thenReturn(true);
+
+        assertThrows(ValidationException.class,
+                () -> bookingService.findBookingByUserIdAfterCursor(booker.getId(), "ALL", "not a cursor", 20));
+    }
+
+    @Test
+    void exportBookingsByOwnerId_thenAllBookingsPassedToConsumer() {
+        BookingResponseDto booking = BookingMapper.bookingToBookingResponseDto(expectedBooking);
+        List<BookingResponseDto> exported = new ArrayList<>();
+
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
+        when(bookingRepository.streamByOwnerId(owner.getId())).thenReturn(Stream.of(booking));
+
+        bookingService.exportBookingsByOwnerId(owner.getId(), exported::add);
+
+        assertEquals(List.of(booking), exported);
+    }
+
+    @Test
+    void exportBookingsByOwnerId_whenUserNotFound_thenUserNotFoundExceptionTrown() {
+        when(userRepository.existsById(owner.getId())).thenReturn(false);
+
+        assertThrows(UserNotFoundException.class,
+                () -> bookingService.exportBookingsByOwnerId(owner.getId(), booking -> { }));
+        verify(bookingRepository, never()).streamByOwnerId(owner.getId());
+    }
+
+}
@@ -0,0 +1,147 @@
+package ru.practicum.shareit.item.cache;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.event.BookingSavedEvent;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.comment.event.CommentSavedEvent;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemViewDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemViewCacheTest {
+
+    private static final int ITEM_ID = 1;
+
+    private static final int OWNER_ID = 1;
+
+    private static final int OTHER_ITEM_ID = 2;
+
+    private static final int USER_ID = 2;
+
+    private static final Duration TIME_TO_LIVE = Duration.ofHours(2);
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final ItemViewCache cache = new ItemViewCache(true, 100, TIME_TO_LIVE, nanos::get);
+
+    private final ItemViewDto publicView = new ItemViewDto("W/\"item-1-0-public\"", OWNER_ID, ItemDto.builder()
+            .id(ITEM_ID)
+            .name("Дрель")
+            .description("Простая дрель")
+            .available(true)
+            .comments(new ArrayList<>())
+            .build());
+
+    @Test
+    void get_whenPublicViewCached_thenReturnedOnlyToNotOwner() {
+        cache.putPublicView(ITEM_ID, publicView, cache.version(ITEM_ID));
+
+        assertEquals(publicView, cache.get(ITEM_ID, USER_ID));
+        assertNull(cache.get(ITEM_ID, OWNER_ID));
+    }
+
+    @Test
+    void get_whenOwnerViewCached_thenReturnedOnlyToOwner() {
+        ItemViewDto ownerView = ownerView(LocalDateTime.now().plusDays(1));
+
+        cache.putOwnerView(ITEM_ID, ownerView, cache.version(ITEM_ID));
+
+        assertEquals(ownerView, cache.get(ITEM_ID, OWNER_ID));
+        assertNull(cache.get(ITEM_ID, USER_ID));
+    }
+
+    @Test
+    void get_whenNextBookingStarted_thenOwnerViewExpired() {
+        cache.putOwnerView(ITEM_ID, ownerView(LocalDateTime.now().plusHours(1)), cache.version(ITEM_ID));
+        cache.putPublicView(ITEM_ID, publicView, cache.version(ITEM_ID));
+
+        nanos.addAndGet(Duration.ofMinutes(59).toNanos());
+        assertNotNull(cache.get(ITEM_ID, OWNER_ID));
+
+        nanos.addAndGet(Duration.ofMinutes(1).toNanos());
+        assertNull(cache.get(ITEM_ID, OWNER_ID));
+        assertEquals(publicView, cache.get(ITEM_ID, USER_ID));
+    }
+
+    @Test
+    void get_whenTimeToLivePassed_thenViewExpired() {
+        cache.putPublicView(ITEM_ID, publicView, cache.version(ITEM_ID));
+
+        nanos.addAndGet(TIME_TO_LIVE.toNanos());
+
+        assertNull(cache.get(ITEM_ID, USER_ID));
+    }
+
+    @Test
+    void putOwnerView_whenNextBookingAlreadyStarted_thenNotCached() {
+        cache.putOwnerView(ITEM_ID, ownerView(LocalDateTime.now().minusMinutes(1)), cache.version(ITEM_ID));
+
+        assertNull(cache.get(ITEM_ID, OWNER_ID));
+    }
+
+    @Test
+    void onBookingSaved_thenBothViewsEvicted() {
+        cache.putOwnerView(ITEM_ID, ownerView(LocalDateTime.now().plusDays(1)), cache.version(ITEM_ID));
+        cache.putPublicView(ITEM_ID, publicView, cache.version(ITEM_ID));
+
+        cache.onBookingSaved(new BookingSavedEvent(ITEM_ID));
+
+        assertNull(cache.get(ITEM_ID, OWNER_ID));
+        assertNull(cache.get(ITEM_ID, USER_ID));
+    }
+
+    @Test
+    void putPublicView_whenItemChangedWhileBuilding_thenNotCached() {
+        long version = cache.version(ITEM_ID);
+
+        cache.onCommentSaved(new CommentSavedEvent(ITEM_ID));
+        cache.putPublicView(ITEM_ID, publicView, version);
+
+        assertNull(cache.get(ITEM_ID, USER_ID));
+    }
+
+    @Test
+    void putPublicView_whenOtherItemChangedWhileBuilding_thenCached() {
+        long version = cache.version(ITEM_ID);
+
+        cache.onCommentSaved(new CommentSavedEvent(OTHER_ITEM_ID));
+        cache.putPublicView(ITEM_ID, publicView, version);
+
+        assertEquals(publicView, cache.get(ITEM_ID, USER_ID));
+    }
+
+    @Test
+    void get_whenDisabled_thenNothingCached() {
+        ItemViewCache disabledCache = new ItemViewCache(false, 100, TIME_TO_LIVE, nanos::get);
+
+        disabledCache.putPublicView(ITEM_ID, publicView, disabledCache.version(ITEM_ID));
+
+        assertNull(disabledCache.get(ITEM_ID, USER_ID));
+    }
+
+    private ItemViewDto ownerView(LocalDateTime nextBookingStart) {
+        return new ItemViewDto("W/\"item-1-0-owner-0-1\"", OWNER_ID, ItemDto.builder()
+                .id(ITEM_ID)
+                .name("Дрель")
+                .description("Простая дрель")
+                .available(true)
+                .nextBooking(BookingDto.builder()
+                        .id(1)
+                        .start(nextBookingStart)
+                        .end(nextBookingStart.plusDays(1))
+                        .itemId(ITEM_ID)
+                        .bookerId(USER_ID)
+                        .status(Status.APPROVED)
+                        .build())
+                .comments(new ArrayList<>())
+                .build());
+    }
+
+}
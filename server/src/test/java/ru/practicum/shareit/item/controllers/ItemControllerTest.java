@@ -12,19 +12,27 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.dto.ItemBatchErrorDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemViewDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemServiceJpaImpl;
 import ru.practicum.shareit.user.model.User;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -74,6 +82,29 @@ class ItemControllerTest {
 
     }
 
+    @SneakyThrows
+    @Test
+    void createBatch() {
+        int userId = 1;
+        List<ItemDto> itemsToCreate = List.of(
+                ItemDto.builder().name("Item1").description("Description1").available(true).build(),
+                ItemDto.builder().name("").description("Description2").available(true).build());
+        ItemBatchResultDto expectedResult = new ItemBatchResultDto(List.of(1),
+                List.of(new ItemBatchErrorDto(1, "Название вещи не может быть пустым")));
+        when(itemService.createItems(userId, itemsToCreate)).thenReturn(expectedResult);
+
+        String result = mockMvc.perform(post("/items/batch")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(itemsToCreate))
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertEquals(objectMapper.writeValueAsString(expectedResult), result);
+    }
+
     @SneakyThrows
     @Test
     void change() {
@@ -98,13 +129,49 @@ class ItemControllerTest {
     void getItem() {
         int userId = 1;
         int itemId = 1;
+        when(itemService.findItemView(userId, itemId)).thenReturn(new ItemViewDto("W/\"item-1-0-public\"", 2,
+                ItemDto.builder().id(itemId).name("Дрель").build()));
 
         mockMvc.perform(get("/items/{itemId}", itemId)
                 .header("X-Sharer-User-Id", userId))
                 .andDo(print())
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Дрель"));
 
-        verify(itemService).findItemById(userId, itemId);
+        verify(itemService).findItemView(userId, itemId);
+    }
+
+    @SneakyThrows
+    @Test
+    void getItem_whenETagMatches_thenNotModified() {
+        int userId = 1;
+        int itemId = 1;
+        String etag = "W/\"item-1-3-public\"";
+        when(itemService.findItemView(userId, itemId)).thenReturn(new ItemViewDto(etag, 2,
+                ItemDto.builder().id(itemId).build()));
+
+        mockMvc.perform(get("/items/{itemId}", itemId)
+                        .header("X-Sharer-User-Id", userId)
+                        .header("If-None-Match", etag))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+    }
+
+    @SneakyThrows
+    @Test
+    void getItem_thenOwnerHeaderSet() {
+        int userId = 1;
+        int itemId = 1;
+        when(itemService.findItemView(userId, itemId)).thenReturn(new ItemViewDto("W/\"item-1-0-public\"", 2,
+                ItemDto.builder().id(itemId).build()));
+
+        mockMvc.perform(get("/items/{itemId}", itemId)
+                        .header("X-Sharer-User-Id", userId))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Sharer-Owner-Id", "2"));
     }
 
     @SneakyThrows
@@ -0,0 +1,195 @@
+package ru.practicum.shareit.item.pointer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingJpaRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserJpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ссылки вещи на последнее и следующее бронирования: обновление при подтверждении,
+ * сдвиг начавшегося бронирования и проверка расхождений с таблицей бронирований.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase
+class BookingPointerServiceTest {
+
+    private static final AtomicInteger USER_COUNTER = new AtomicInteger();
+
+    @Autowired
+    private BookingPointerService bookingPointerService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserJpaRepository userRepository;
+
+    @Autowired
+    private ItemJpaRepository itemRepository;
+
+    @Autowired
+    private BookingJpaRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User owner;
+
+    private User booker;
+
+    private Item item;
+
+    @BeforeEach
+    public void setUp() {
+        owner = createUser();
+        booker = createUser();
+        item = itemRepository.save(new Item(null, "Дрель", "Простая дрель", true, owner, null));
+    }
+
+    @Test
+    void approvedBooking_thenNextBookingUpdated() {
+        BookingResponseDto later = createAndApprove(LocalDateTime.now().plusDays(3), LocalDateTime.now().plusDays(4));
+        BookingResponseDto earlier = createAndApprove(LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2));
+
+        ItemDto itemDto = itemService.findItemById(owner.getId(), item.getId());
+
+        assertNull(itemDto.getLastBooking());
+        assertEquals(earlier.getId(), itemDto.getNextBooking().getId());
+        assertNotEquals(later.getId(), itemDto.getNextBooking().getId());
+        assertFalse(bookingPointerService.findInconsistentItemIds(Integer.MAX_VALUE).contains(item.getId()));
+    }
+
+    @Test
+    void rejectedBooking_thenPointersNotChanged() {
+        BookingResponseDto booking = bookingService.createBooking(booker.getId(), BookingDto.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build());
+        bookingService.approvedBooking(owner.getId(), booking.getId(), false);
+
+        ItemDto itemDto = itemService.findItemById(owner.getId(), item.getId());
+
+        assertNull(itemDto.getNextBooking());
+    }
+
+    @Test
+    void rollForward_whenNextBookingStarted_thenMovedToLast() {
+        Booking booking = bookingRepository.save(new Booking(null, LocalDateTime.now().minusHours(1),
+                LocalDateTime.now().plusHours(1), item, booker, Status.APPROVED));
+        transactionTemplate.executeWithoutResult(status -> {
+            Item storedItem = itemRepository.findById(item.getId()).orElseThrow();
+            storedItem.setNextBooking(bookingRepository.findById(booking.getId()).orElseThrow());
+        });
+
+        assertFalse(bookingPointerService.findInconsistentItemIds(Integer.MAX_VALUE).contains(item.getId()));
+        assertTrue(bookingPointerService.rollForward() > 0);
+
+        ItemDto itemDto = itemService.findItemById(owner.getId(), item.getId());
+        assertEquals(booking.getId(), itemDto.getLastBooking().getId());
+        assertNull(itemDto.getNextBooking());
+    }
+
+    @Test
+    void findItemById_whenNextBookingStarted_thenPointersComputedWithoutWrite() {
+        Booking booking = bookingRepository.save(new Booking(null, LocalDateTime.now().minusHours(1),
+                LocalDateTime.now().plusHours(1), item, booker, Status.APPROVED));
+        transactionTemplate.executeWithoutResult(status -> {
+            Item storedItem = itemRepository.findById(item.getId()).orElseThrow();
+            storedItem.setNextBooking(bookingRepository.findById(booking.getId()).orElseThrow());
+        });
+        int version = itemRepository.findById(item.getId()).orElseThrow().getVersion();
+
+        ItemDto itemDto = itemService.findItemById(owner.getId(), item.getId());
+        itemService.getAllUserItems(owner.getId(), 0, 10);
+
+        assertEquals(booking.getId(), itemDto.getLastBooking().getId());
+        assertNull(itemDto.getNextBooking());
+        Integer nextBookingId = jdbcTemplate.queryForObject("select next_booking_id from items where item_id = ?",
+                Integer.class, item.getId());
+        assertEquals(booking.getId(), nextBookingId);
+        assertEquals(version, itemRepository.findById(item.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void repair_whenPointersCorrupted_thenRecomputed() {
+        BookingResponseDto booking = createAndApprove(LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2));
+        jdbcTemplate.update("update items set next_booking_id = null where item_id = ?", item.getId());
+
+        assertTrue(bookingPointerService.findInconsistentItemIds(Integer.MAX_VALUE).contains(item.getId()));
+        assertTrue(bookingPointerService.repair(Integer.MAX_VALUE).contains(item.getId()));
+
+        assertFalse(bookingPointerService.findInconsistentItemIds(Integer.MAX_VALUE).contains(item.getId()));
+        Integer nextBookingId = jdbcTemplate.queryForObject("select next_booking_id from items where item_id = ?",
+                Integer.class, item.getId());
+        assertEquals(booking.getId(), nextBookingId);
+    }
+
+    @Test
+    void repair_whenOwnerViewCached_thenViewRebuilt() {
+        assertNull(itemService.findItemById(owner.getId(), item.getId()).getNextBooking());
+        Booking booking = bookingRepository.save(new Booking(null, LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2), item, booker, Status.APPROVED));
+
+        assertTrue(bookingPointerService.repair(Integer.MAX_VALUE).contains(item.getId()));
+
+        ItemDto itemDto = itemService.findItemById(owner.getId(), item.getId());
+        assertEquals(booking.getId(), itemDto.getNextBooking().getId());
+    }
+
+    @Test
+    void findItemIdsWithStaleBookingPointers_thenComparedWithPassedTime() {
+        BookingResponseDto booking = createAndApprove(LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2));
+        jdbcTemplate.update("update items set last_booking_id = ?, next_booking_id = null where item_id = ?",
+                booking.getId(), item.getId());
+
+        assertTrue(itemRepository.findItemIdsWithStaleBookingPointers(LocalDateTime.now(), Integer.MAX_VALUE)
+                .contains(item.getId()));
+        assertFalse(itemRepository.findItemIdsWithStaleBookingPointers(LocalDateTime.now().plusDays(3),
+                Integer.MAX_VALUE).contains(item.getId()));
+    }
+
+    private BookingResponseDto createAndApprove(LocalDateTime start, LocalDateTime end) {
+        BookingResponseDto booking = bookingService.createBooking(booker.getId(), BookingDto.builder()
+                .itemId(item.getId())
+                .start(start)
+                .end(end)
+                .build());
+        return bookingService.approvedBooking(owner.getId(), booking.getId(), true);
+    }
+
+    private User createUser() {
+        int number = USER_COUNTER.incrementAndGet();
+        return userRepository.save(new User(null, "pointer" + number + "@mail.ru", "User" + number));
+    }
+
+}
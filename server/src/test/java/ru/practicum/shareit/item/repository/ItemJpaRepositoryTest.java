@@ -10,6 +10,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.RequestJpaRepository;
@@ -60,20 +61,27 @@ class ItemJpaRepositoryTest {
 
     @Test
     void search() {
-        List<Item> actualList = itemRepository.search("Description1", page);
+        List<ItemShortDto> actualList = itemRepository.search("Description1", page);
 
         assertFalse(actualList.isEmpty());
         assertEquals(1, actualList.size());
-        assertEquals(item1, actualList.get(0));
+        assertEquals(new ItemShortDto(1, "ItemName1", "Description1", true, null), actualList.get(0));
+    }
+
+    @Test
+    void search_whenTextContainsLikeWildcards_thenMatchedLiterally() {
+        assertTrue(itemRepository.search("Descr_ption1", page).isEmpty());
+        assertTrue(itemRepository.search("Item%1", page).isEmpty());
+        assertTrue(itemRepository.search("\\", page).isEmpty());
     }
 
     @Test
     void findAll() {
-        List<Item> actualList = itemRepository.findAll(2, page);
+        List<ItemShortDto> actualList = itemRepository.findAll(2, page);
 
         assertFalse(actualList.isEmpty());
         assertEquals(1, actualList.size());
-        assertEquals(item2, actualList.get(0));
+        assertEquals(new ItemShortDto(2, "ItemName2", "Description2", true, 1), actualList.get(0));
     }
 
     @Test
@@ -82,7 +90,18 @@ class ItemJpaRepositoryTest {
 
         assertFalse(actualList.isEmpty());
         assertEquals(1, actualList.size());
-        assertEquals(item2, actualList.get(0));
+        assertEquals(item2.getId(), actualList.get(0).getId());
+        assertEquals(item2.getName(), actualList.get(0).getName());
+        assertEquals(item2.getDescription(), actualList.get(0).getDescription());
+        assertEquals(1, actualList.get(0).getItemRequest().getId());
+    }
+
+    @Test
+    void findByRequestIdIn() {
+        List<ItemShortDto> actualList = itemRepository.findByRequestIdIn(List.of(1, 2));
+
+        assertEquals(1, actualList.size());
+        assertEquals(new ItemShortDto(2, "ItemName2", "Description2", true, 1), actualList.get(0));
     }
 
-}
\ No newline at end of file
+}
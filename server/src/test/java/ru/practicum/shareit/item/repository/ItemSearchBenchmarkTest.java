@@ -0,0 +1,108 @@
+package ru.practicum.shareit.item.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Сравнение поиска вещей без индекса и с триграммными GIN индексами на 1 000 000 строк.
+ * Запуск: mvn test -Dtest=ItemSearchBenchmarkTest -Dshareit.benchmark.postgres-url=jdbc:postgresql://...
+ */
+@Slf4j
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "shareit.benchmark.postgres-url", matches = ".+")
+class ItemSearchBenchmarkTest {
+
+    private static final int ITEMS_COUNT = 1_000_000;
+
+    private static final int RUNS = 20;
+
+    private static final String SEARCH = "select item_id from bench_items " +
+            "where (upper(name) like upper(concat('%', ?, '%')) " +
+            "or upper(description) like upper(concat('%', ?, '%'))) " +
+            "and (available = true) " +
+            "order by item_id " +
+            "limit 20";
+
+    private Connection connection;
+
+    @BeforeAll
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(System.getProperty("shareit.benchmark.postgres-url"),
+                System.getProperty("shareit.benchmark.postgres-user", "postgres"),
+                System.getProperty("shareit.benchmark.postgres-password", "iamroot"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            statement.execute("DROP TABLE IF EXISTS bench_items");
+            statement.execute("CREATE TABLE bench_items (" +
+                    "item_id BIGINT PRIMARY KEY, " +
+                    "name VARCHAR(255) NOT NULL, " +
+                    "description VARCHAR(512) NOT NULL, " +
+                    "available BOOLEAN NOT NULL)");
+            statement.execute("INSERT INTO bench_items " +
+                    "SELECT g, 'Item ' || md5(g::text), 'Description ' || md5((g * 7)::text), g % 3 <> 0 " +
+                    "FROM generate_series(1, " + ITEMS_COUNT + ") g");
+            statement.execute("ANALYZE bench_items");
+        }
+    }
+
+    @AfterAll
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_items");
+        }
+        connection.close();
+    }
+
+    @Test
+    void search_whenTrigramIndexes_thenFasterThanSeqScan() throws SQLException {
+        String text = "a1b2";
+
+        long seqScanMedian = measure(text);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX bench_items_name_trgm_idx ON bench_items " +
+                    "USING GIN (upper(name) gin_trgm_ops)");
+            statement.execute("CREATE INDEX bench_items_description_trgm_idx ON bench_items " +
+                    "USING GIN (upper(description) gin_trgm_ops)");
+            statement.execute("ANALYZE bench_items");
+        }
+        long indexedMedian = measure(text);
+
+        log.info("Поиск по {} вещам: без индекса {} мкс, с индексом {} мкс", ITEMS_COUNT,
+                seqScanMedian / 1000, indexedMedian / 1000);
+        assertTrue(indexedMedian < seqScanMedian);
+    }
+
+    private long measure(String text) throws SQLException {
+        long[] timings = new long[RUNS];
+        try (PreparedStatement statement = connection.prepareStatement(SEARCH)) {
+            statement.setString(1, text);
+            statement.setString(2, text);
+            for (int i = 0; i < RUNS; i++) {
+                long start = System.nanoTime();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        resultSet.getLong(1);
+                    }
+                }
+                timings[i] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(timings);
+        return timings[RUNS / 2];
+    }
+
+}
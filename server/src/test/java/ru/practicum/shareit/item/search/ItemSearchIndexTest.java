@@ -0,0 +1,129 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.event.ItemRemovedEvent;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+
+    @Mock
+    private ItemJpaRepository itemRepository;
+
+    private ItemSearchIndex searchIndex;
+
+    private final User owner = new User(1, "email1@mail.ru", "Name1");
+
+    private final Item drill = new Item(1, "Аккумуляторная дрель", "Аккумуляторная дрель + аккумулятор",
+            true, owner, null);
+
+    private final Item screwdriver = new Item(2, "Отвертка", "Аккумуляторная отвертка", true, owner, null);
+
+    private final Item glue = new Item(3, "Клей Момент", "Тюбик суперклея марки Момент", false, owner, null);
+
+    @BeforeEach
+    public void setUp() {
+        searchIndex = new ItemSearchIndex(itemRepository, true, 1000);
+        when(itemRepository.findAfterId(0, PageRequest.of(0, 1000))).thenReturn(List.of(drill, screwdriver, glue));
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void search_whenSubstringOfName_thenReturnedAvailableItems() {
+        List<ItemDto> actualList = searchIndex.search("оТверТ", 0, 20);
+
+        assertTrue(searchIndex.isEnabled());
+        assertEquals(List.of(ItemMapper.itemToItemDto(screwdriver, new ArrayList<>())), actualList);
+    }
+
+    @Test
+    void search_whenItemNotAvailable_thenItemSkipped() {
+        assertTrue(searchIndex.search("клей", 0, 20).isEmpty());
+    }
+
+    @Test
+    void search_whenFromAndSize_thenReturnedPageOrderedById() {
+        List<ItemDto> firstPage = searchIndex.search("аккУМУляторная", 0, 1);
+        List<ItemDto> secondPage = searchIndex.search("аккУМУляторная", 1, 1);
+
+        assertEquals(1, firstPage.get(0).getId());
+        assertEquals(1, firstPage.size());
+        assertEquals(2, secondPage.get(0).getId());
+        assertEquals(1, secondPage.size());
+    }
+
+    @Test
+    void search_whenShortQuery_thenFullScanUsed() {
+        assertEquals(1, searchIndex.search("ль", 0, 20).size());
+        assertEquals(2, searchIndex.search("а", 0, 20).size());
+    }
+
+    @Test
+    void onItemSaved_whenItemChanged_thenIndexUpdated() {
+        Item renamed = new Item(2, "Шуруповерт", "Беспроводной", true, owner, null);
+
+        searchIndex.onItemSaved(new ItemSavedEvent(renamed));
+
+        assertTrue(searchIndex.search("отвертка", 0, 20).isEmpty());
+        assertEquals(List.of(ItemMapper.itemToItemDto(renamed, new ArrayList<>())),
+                searchIndex.search("шуруп", 0, 20));
+    }
+
+    @Test
+    void onItemRemoved_thenItemNotFound() {
+        searchIndex.onItemRemoved(new ItemRemovedEvent(1));
+
+        List<ItemDto> actualList = searchIndex.search("дрель", 0, 20);
+
+        assertTrue(actualList.isEmpty());
+    }
+
+    @Test
+    void rebuild_whenSeveralBatches_thenEachBatchReadAfterLastId() {
+        ItemSearchIndex batchedIndex = new ItemSearchIndex(itemRepository, true, 2);
+        when(itemRepository.findAfterId(0, PageRequest.of(0, 2))).thenReturn(List.of(drill, screwdriver));
+        when(itemRepository.findAfterId(2, PageRequest.of(0, 2))).thenReturn(List.of(glue));
+
+        batchedIndex.rebuild();
+
+        assertEquals(2, batchedIndex.search("а", 0, 20).size());
+        verify(itemRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void rebuild_whenItemSavedDuringRebuild_thenChangeKept() {
+        ItemSearchIndex rebuiltIndex = new ItemSearchIndex(itemRepository, true, 1000);
+        Item saw = new Item(4, "Пила", "Ножовка по дереву", true, owner, null);
+        when(itemRepository.findAfterId(0, PageRequest.of(0, 1000))).thenAnswer(invocation -> {
+            rebuiltIndex.onItemSaved(new ItemSavedEvent(saw));
+            rebuiltIndex.onItemRemoved(new ItemRemovedEvent(1));
+            return List.of(drill, screwdriver);
+        });
+
+        rebuiltIndex.rebuild();
+
+        assertEquals(List.of(ItemMapper.itemToItemDto(saw, new ArrayList<>())), rebuiltIndex.search("ножовка", 0, 20));
+        assertTrue(rebuiltIndex.search("дрель", 0, 20).isEmpty());
+    }
+
+}
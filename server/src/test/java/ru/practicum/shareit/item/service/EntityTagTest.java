@@ -0,0 +1,123 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingJpaRepository;
+import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.RequestJpaRepository;
+import ru.practicum.shareit.request.service.RequestServiceJpaImpl;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserJpaRepository;
+import ru.practicum.shareit.user.service.UserServiceJpaImpl;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+class EntityTagTest {
+
+    @Autowired
+    private ItemServiceJpaImpl itemService;
+
+    @Autowired
+    private RequestServiceJpaImpl requestService;
+
+    @Autowired
+    private UserServiceJpaImpl userService;
+
+    @Autowired
+    private UserJpaRepository userRepository;
+
+    @Autowired
+    private ItemJpaRepository itemRepository;
+
+    @Autowired
+    private BookingJpaRepository bookingRepository;
+
+    @Autowired
+    private RequestJpaRepository requestRepository;
+
+    private User owner;
+
+    private User booker;
+
+    private Item item;
+
+    @BeforeEach
+    public void setUp() {
+        long suffix = System.nanoTime();
+        owner = userRepository.save(new User(null, "owner" + suffix + "@mail.ru", "Owner"));
+        booker = userRepository.save(new User(null, "booker" + suffix + "@mail.ru", "Booker"));
+        item = itemRepository.save(new Item(null, "Item", "Description", true, owner, null));
+    }
+
+    @Test
+    void findItemView_whenSameState_thenSameETag() {
+        assertEquals(itemService.findItemView(booker.getId(), item.getId()).getEtag(),
+                itemService.findItemView(booker.getId(), item.getId()).getEtag());
+        assertNotEquals(itemService.findItemView(booker.getId(), item.getId()).getEtag(),
+                itemService.findItemView(owner.getId(), item.getId()).getEtag());
+    }
+
+    @Test
+    void findItemView_whenItemChanged_thenETagChanged() {
+        String before = itemService.findItemView(booker.getId(), item.getId()).getEtag();
+
+        itemService.changeItem(owner.getId(), item.getId(), ItemDto.builder().name("NewName").build());
+
+        assertNotEquals(before, itemService.findItemView(booker.getId(), item.getId()).getEtag());
+    }
+
+    @Test
+    void findItemView_whenCommentAdded_thenETagChanged() {
+        bookingRepository.save(new Booking(null,
+                LocalDateTime.now().minusDays(10),
+                LocalDateTime.now().minusDays(5),
+                item,
+                booker,
+                Status.APPROVED));
+        String before = itemService.findItemView(booker.getId(), item.getId()).getEtag();
+
+        itemService.createComment(booker.getId(), item.getId(), Comment.builder().text("Comment").build());
+
+        assertNotEquals(before, itemService.findItemView(booker.getId(), item.getId()).getEtag());
+    }
+
+    @Test
+    void getRequestETag_whenAnswerItemCreated_thenETagChanged() {
+        ItemRequest request = requestRepository.save(new ItemRequest(null, booker, "Request",
+                LocalDateTime.now()));
+        String before = requestService.getRequestETag(booker.getId(), request.getId());
+
+        itemService.createItem(owner.getId(), ItemDto.builder()
+                .name("Answer")
+                .description("Description")
+                .available(true)
+                .requestId(request.getId())
+                .build());
+
+        assertNotEquals(before, requestService.getRequestETag(booker.getId(), request.getId()));
+    }
+
+    @Test
+    void getUserETag_whenUserRenamed_thenETagChanged() {
+        String before = userService.getUserETag(owner.getId());
+
+        userService.changeUser(owner.getId(), UserDto.builder().name("NewOwner").build());
+
+        assertNotEquals(before, userService.getUserETag(owner.getId()));
+    }
+
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserJpaRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Скорость создания вещей: по одной через createItem и пакетом из 100 000 через createItems.
+ * Пишет в базу по указанному адресу, поэтому запускать на отдельной базе:
+ * mvn test -Dtest=ItemBatchBenchmarkTest -Dshareit.benchmark.postgres-url=jdbc:postgresql://host:5432/shareit_bench
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "shareit.benchmark.postgres-url", matches = ".+")
+@SpringBootTest(properties = {
+        "spring.datasource.driverClassName=org.postgresql.Driver",
+        "spring.datasource.url=${shareit.benchmark.postgres-url}",
+        "spring.datasource.username=${shareit.benchmark.postgres-user:postgres}",
+        "spring.datasource.password=${shareit.benchmark.postgres-password:iamroot}",
+        "spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=true",
+        "shareit.item-search.in-memory=false"
+})
+class ItemBatchBenchmarkTest {
+
+    private static final int SINGLE_ITEMS = 5_000;
+
+    private static final int BATCH_ITEMS = 100_000;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserJpaRepository userRepository;
+
+    @Test
+    void createItems_whenBatch_thenFasterThanOneByOne() {
+        User owner = userRepository.save(new User(null, "batch" + System.nanoTime() + "@mail.ru", "BatchOwner"));
+        List<ItemDto> singleItems = items("Single", SINGLE_ITEMS);
+        List<ItemDto> batchItems = items("Batch", BATCH_ITEMS);
+
+        long singleStart = System.nanoTime();
+        singleItems.forEach(itemDto -> itemService.createItem(owner.getId(), itemDto));
+        long singleNanos = System.nanoTime() - singleStart;
+
+        long batchStart = System.nanoTime();
+        ItemBatchResultDto result = itemService.createItems(owner.getId(), batchItems);
+        long batchNanos = System.nanoTime() - batchStart;
+
+        double singlePerSecond = SINGLE_ITEMS * 1e9 / singleNanos;
+        double batchPerSecond = BATCH_ITEMS * 1e9 / batchNanos;
+        log.info("По одной: {} вещей за {} мс ({} вещей/с); пакетом: {} вещей за {} мс ({} вещей/с)",
+                SINGLE_ITEMS, singleNanos / 1_000_000, Math.round(singlePerSecond),
+                BATCH_ITEMS, batchNanos / 1_000_000, Math.round(batchPerSecond));
+        assertEquals(BATCH_ITEMS, result.getCreated().size());
+        assertTrue(batchPerSecond > singlePerSecond);
+    }
+
+    private List<ItemDto> items(String prefix, int count) {
+        List<ItemDto> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(ItemDto.builder()
+                    .name(prefix + " item " + i)
+                    .description(prefix + " description " + i)
+                    .available(true)
+                    .build());
+        }
+        return items;
+    }
+
+}
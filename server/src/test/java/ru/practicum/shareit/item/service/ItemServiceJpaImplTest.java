@@ -1,39 +1,56 @@
 package ru.practicum.shareit.item.service;
 
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.web.server.ResponseStatusException;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingJpaRepository;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.cache.ItemViewCache;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.comment.model.Comment;
 import ru.practicum.shareit.item.comment.repository.CommentJpaRepository;
+import ru.practicum.shareit.item.dto.ItemBatchErrorDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.dto.ItemViewDto;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
+import ru.practicum.shareit.item.event.ItemsSavedEvent;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.pointer.BookingPointerService;
+import ru.practicum.shareit.item.pointer.BookingPointers;
 import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.request.repository.RequestJpaRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserJpaRepository;
 import ru.practicum.shareit.validator.Validator;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.time.Period;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -56,8 +73,23 @@ class ItemServiceJpaImplTest {
     @Mock
     private RequestJpaRepository requestRepository;
 
+    @Spy
+    private Validator validator = new Validator();
+
+    @Mock
+    private ItemSearchIndex searchIndex;
+
+    @Mock
+    private ItemViewCache itemViewCache;
+
+    @Mock
+    private BookingPointerService bookingPointerService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
-    private Validator validator;
+    private EntityManager entityManager;
 
     private User expectedUser = User.builder()
             .id(1)
@@ -80,16 +112,19 @@ class ItemServiceJpaImplTest {
     @Captor
     private ArgumentCaptor<Item> itemCapture;
 
+    @Captor
+    private ArgumentCaptor<List<Item>> itemsCapture;
+
     @Test
     void getAllUserItems_thenReturnedUserItems() {
         int userId = 1;
-        List<Item> expectedList = new ArrayList<>();
-        Pageable page = PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "id"));
+        List<ItemShortDto> expectedList = new ArrayList<>();
+        Pageable page = OffsetPageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "id"));
 
         when(itemRepository.findAll(userId, page)).thenReturn(expectedList);
 
         List<ItemDto> actualList = itemService.getAllUserItems(userId, 0, 20);
-        assertEquals(ItemMapper.itemsToItemDtos(expectedList), actualList);
+        assertTrue(actualList.isEmpty());
     }
 
     @Test
@@ -112,6 +147,7 @@ class ItemServiceJpaImplTest {
         assertEquals(expectedItem.getDescription(), actualItem.getDescription());
         assertEquals(expectedItem.getAvailable(), actualItem.getAvailable());
         verify(itemRepository).save(expectedItem);
+        verify(eventPublisher).publishEvent(any(ItemSavedEvent.class));
     }
 
     @Test
@@ -142,6 +178,45 @@ class ItemServiceJpaImplTest {
                 () -> itemService.createItem(userId, ItemMapper.itemToItemDto(expectedItem)));
     }
 
+    @Test
+    void createItems_whenSomeItemsNotValid_thenValidItemsSavedAndErrorsReported() {
+        int userId = 1;
+        List<ItemDto> itemDtos = List.of(
+                ItemDto.builder().id(5).name("Дрель").description("Простая дрель").available(true).build(),
+                ItemDto.builder().name(" ").description("Без названия").available(true).build(),
+                ItemDto.builder().name("Отвертка").description("Отвертка по запросу").available(true)
+                        .requestId(99).build());
+        Session session = mock(Session.class);
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(expectedUser));
+        when(requestRepository.findAllById(Set.of(99))).thenReturn(new ArrayList<>());
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+
+        ItemBatchResultDto result = itemService.createItems(userId, itemDtos);
+
+        assertEquals(1, result.getCreated().size());
+        assertEquals(List.of(new ItemBatchErrorDto(1, "Название вещи не может быть пустым"),
+                new ItemBatchErrorDto(2, "Запрос с id = 99 не найден")), result.getErrors());
+        verify(itemRepository).saveAll(itemsCapture.capture());
+        List<Item> savedItems = itemsCapture.getValue();
+        assertEquals(1, savedItems.size());
+        assertNull(savedItems.get(0).getId());
+        assertEquals(expectedUser, savedItems.get(0).getOwner());
+        verify(session).setCacheMode(CacheMode.IGNORE);
+        verify(eventPublisher).publishEvent(any(ItemsSavedEvent.class));
+    }
+
+    @Test
+    void createItems_whenUserNotFound_thenUserNotFoundExceptionTrown() {
+        int userId = 2;
+
+        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class,
+                () -> itemService.createItems(userId, List.of(ItemMapper.itemToItemDto(expectedItem))));
+        verify(itemRepository, never()).saveAll(any());
+    }
+
     @Test
     void changeItem_whenFullUpdate_thenReturnedItem() {
         int userId = 1;
@@ -286,18 +361,71 @@ class ItemServiceJpaImplTest {
     }
 
     @Test
-    void findItemById_whenFound_thenReturnedItem() {
+    void findItemView_whenFound_thenItemReturnedWithETag() {
         int userId = 1;
         int itemId = 1;
+        BookingPointers pointers = new BookingPointers(null, null);
 
-        when(validator.validateUser(userId, userRepository)).thenReturn(true);
-        when(validator.validateItem(itemId, itemRepository)).thenReturn(true);
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(expectedItem));
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(itemRepository.findWithBookingsById(itemId)).thenReturn(Optional.of(expectedItem));
+        when(bookingPointerService.current(expectedItem)).thenReturn(pointers);
+
+        ItemViewDto view = itemService.findItemView(userId, itemId);
+
+        assertEquals(ItemMapper.itemToItemDto(expectedItem, new ArrayList<>()), view.getItem());
+        assertEquals(ItemMapper.itemToOwnerETag(expectedItem, pointers), view.getEtag());
+        assertEquals(userId, view.getOwnerId());
+        verify(itemViewCache).putOwnerView(itemId, view, 0L);
+    }
+
+    @Test
+    void findItemById_whenOwner_thenBookingsTakenFromItem() {
+        int userId = 1;
+        int itemId = 1;
+        User booker = User.builder()
+                .id(2)
+                .build();
+        Booking lastBooking = new Booking(1, LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1),
+                expectedItem, booker, Status.APPROVED);
+        Booking nextBooking = new Booking(2, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2),
+                expectedItem, booker, Status.APPROVED);
+        Item item = Item.builder()
+                .id(itemId)
+                .name("Name")
+                .description("Description")
+                .available(true)
+                .owner(expectedUser)
+                .lastBooking(lastBooking)
+                .nextBooking(nextBooking)
+                .build();
+
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(itemRepository.findWithBookingsById(itemId)).thenReturn(Optional.of(item));
+        when(bookingPointerService.current(item)).thenReturn(new BookingPointers(lastBooking, nextBooking));
 
         ItemDto actualItem = itemService.findItemById(userId, itemId);
 
-        assertEquals(ItemMapper.itemToItemDto(expectedItem, new ArrayList<>()), actualItem);
+        assertEquals(BookingMapper.bookingToBookingDto(lastBooking), actualItem.getLastBooking());
+        assertEquals(BookingMapper.bookingToBookingDto(nextBooking), actualItem.getNextBooking());
+        verify(bookingRepository, never()).findLastBookingForItem(eq(itemId), any());
+        verify(bookingRepository, never()).findNextBookingForItem(eq(itemId), any());
+    }
+
+    @Test
+    void findItemById_whenCached_thenItemNotLoaded() {
+        int userId = 2;
+        int itemId = 1;
+        ItemDto cachedItem = ItemMapper.itemToItemDto(expectedItem, new ArrayList<>());
+
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(itemViewCache.get(itemId, userId)).thenReturn(new ItemViewDto(ItemMapper.itemToETag(expectedItem),
+                expectedUser.getId(), cachedItem));
+
+        ItemDto actualItem = itemService.findItemById(userId, itemId);
 
+        assertEquals(cachedItem, actualItem);
+        verify(itemRepository, never()).findById(itemId);
+        verify(itemRepository, never()).findWithBookingsById(itemId);
     }
 
     @Test
@@ -305,8 +433,8 @@ class ItemServiceJpaImplTest {
         int userId = 1;
         int itemId = 3;
 
-        when(validator.validateUser(userId, userRepository)).thenReturn(true);
-        when(validator.validateItem(itemId, itemRepository)).thenReturn(false);
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(itemRepository.findWithBookingsById(itemId)).thenReturn(Optional.empty());
 
         assertThrows(ItemNotFoundException.class,
                 () -> itemService.findItemById(userId, itemId));
@@ -326,11 +454,12 @@ class ItemServiceJpaImplTest {
     @Test
     void getSearchedItems_whenValid_thenReturnedListOfItems() {
         String searchRequest = "Name";
-        List<Item> expectedList = new ArrayList<>();
-        expectedList.add(expectedItem);
+        List<ItemShortDto> expectedList = new ArrayList<>();
+        expectedList.add(new ItemShortDto(expectedItem.getId(), expectedItem.getName(),
+                expectedItem.getDescription(), expectedItem.getAvailable(), null));
         List<ItemDto> searchedItems = new ArrayList<>();
-        expectedList.forEach(item -> searchedItems.add(ItemMapper.itemToItemDto(item, new ArrayList<>())));
-        Pageable page = PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "id"));
+        searchedItems.add(ItemMapper.itemToItemDto(expectedItem, new ArrayList<>()));
+        Pageable page = OffsetPageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "id"));
 
         when(itemRepository.search(searchRequest, page)).thenReturn(expectedList);
 
@@ -339,6 +468,20 @@ class ItemServiceJpaImplTest {
         assertEquals(searchedItems, actualList);
     }
 
+    @Test
+    void getSearchedItems_whenIndexEnabled_thenReturnedListFromIndex() {
+        String searchRequest = "Name";
+        List<ItemDto> searchedItems = List.of(ItemMapper.itemToItemDto(expectedItem, new ArrayList<>()));
+
+        when(searchIndex.isEnabled()).thenReturn(true);
+        when(searchIndex.search(searchRequest, 0, 20)).thenReturn(searchedItems);
+
+        List<ItemDto> actualList = itemService.getSearchedItems(searchRequest, 0, 20);
+
+        assertEquals(searchedItems, actualList);
+        verify(itemRepository, never()).search(any(), any());
+    }
+
     @Test
     void getSearchedItems_whenNotValid_thenValidationExceptionTrown() {
         String searchRequest = "Name";
@@ -372,12 +515,10 @@ class ItemServiceJpaImplTest {
                 .text("Comment1")
                 .build();
 
-        when(validator.validateUser(user.getId(), userRepository)).thenReturn(true);
-        when(validator.validateItem(itemId, itemRepository)).thenReturn(true);
-        doReturn(bookingList).when(bookingRepository).findByBookerIdAndItemId(user.getId(), itemId,
-                Sort.by(Sort.Direction.DESC, "id"));
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(expectedItem));
+        doReturn(bookingList).when(bookingRepository).findByBookerIdAndItemId(user.getId(), itemId,
+                Sort.by(Sort.Direction.DESC, "id"));
         when(commentRepository.save(comment)).thenReturn(comment);
 
         CommentDto actualComment = itemService.createComment(user.getId(), itemId, comment);
@@ -402,7 +543,7 @@ class ItemServiceJpaImplTest {
     }
 
     @Test
-    void createComment_whenItemOrUserNotFound_thenUserNotFoundExceptionTrown() {
+    void createComment_whenUserNotFound_thenUserNotFoundExceptionTrown() {
         int userId = 1;
         int itemId = 1;
         Comment comment = Comment.builder()
@@ -410,7 +551,7 @@ class ItemServiceJpaImplTest {
                 .text("Comment1")
                 .build();
 
-        when(validator.validateUser(userId, userRepository)).thenReturn(false);
+        when(userRepository.findById(userId)).thenReturn(Optional.empty());
 
         assertThrows(UserNotFoundException.class,
                 () -> itemService.createComment(userId, itemId, comment));
@@ -426,8 +567,8 @@ class ItemServiceJpaImplTest {
                 .build();
         List<Booking> bookingList = new ArrayList<>();
 
-        when(validator.validateUser(userId, userRepository)).thenReturn(true);
-        when(validator.validateItem(itemId, itemRepository)).thenReturn(true);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(expectedUser));
+        when(itemRepository.findById(itemId)).thenReturn(Optional.of(expectedItem));
         doReturn(bookingList).when(bookingRepository).findByBookerIdAndItemId(userId, itemId,
                 Sort.by(Sort.Direction.DESC, "id"));
 
@@ -458,8 +599,8 @@ class ItemServiceJpaImplTest {
                 .build();
         bookingList.add(booking);
 
-        when(validator.validateUser(user.getId(), userRepository)).thenReturn(true);
-        when(validator.validateItem(itemId, itemRepository)).thenReturn(true);
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(itemRepository.findById(itemId)).thenReturn(Optional.of(expectedItem));
         doReturn(bookingList).when(bookingRepository).findByBookerIdAndItemId(user.getId(), itemId,
                 Sort.by(Sort.Direction.DESC, "id"));
 
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.item.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingJpaRepository;
+import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.comment.repository.CommentJpaRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.pointer.BookingPointerService;
+import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserJpaRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+class ItemServiceQueryCountTest {
+
+    private static final int MAX_QUERIES = 5;
+
+    @Autowired
+    private ItemServiceJpaImpl itemService;
+
+    @Autowired
+    private UserJpaRepository userRepository;
+
+    @Autowired
+    private ItemJpaRepository itemRepository;
+
+    @Autowired
+    private BookingJpaRepository bookingRepository;
+
+    @Autowired
+    private CommentJpaRepository commentRepository;
+
+    @Autowired
+    private BookingPointerService bookingPointerService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User smallOwner;
+
+    private User bigOwner;
+
+    @BeforeAll
+    public void setUp() {
+        smallOwner = userRepository.save(new User(null, "small@mail.ru", "SmallOwner"));
+        bigOwner = userRepository.save(new User(null, "big@mail.ru", "BigOwner"));
+        User booker = userRepository.save(new User(null, "booker@mail.ru", "Booker"));
+        createItems(smallOwner, booker, 1);
+        createItems(bigOwner, booker, 10);
+    }
+
+    @Test
+    void getAllUserItems_whenManyItems_thenQueryCountNotGrowing() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        List<ItemDto> smallOwnerItems = itemService.getAllUserItems(smallOwner.getId(), 0, 20);
+        long smallOwnerQueries = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        List<ItemDto> bigOwnerItems = itemService.getAllUserItems(bigOwner.getId(), 0, 20);
+        long bigOwnerQueries = statistics.getPrepareStatementCount();
+
+        assertEquals(1, smallOwnerItems.size());
+        assertEquals(10, bigOwnerItems.size());
+        bigOwnerItems.forEach(itemDto -> {
+            assertNotNull(itemDto.getLastBooking());
+            assertNotNull(itemDto.getNextBooking());
+            assertEquals(1, itemDto.getComments().size());
+        });
+        assertEquals(smallOwnerQueries, bigOwnerQueries);
+        assertTrue(bigOwnerQueries <= MAX_QUERIES);
+    }
+
+    private void createItems(User owner, User booker, int count) {
+        for (int i = 0; i < count; i++) {
+            Item item = itemRepository.save(new Item(null, "Item" + i, "Description" + i, true,
+                    owner, null));
+            bookingRepository.save(new Booking(null,
+                    LocalDateTime.now().minusDays(10),
+                    LocalDateTime.now().minusDays(5),
+                    item,
+                    booker,
+                    Status.APPROVED));
+            bookingRepository.save(new Booking(null,
+                    LocalDateTime.now().plusDays(5),
+                    LocalDateTime.now().plusDays(10),
+                    item,
+                    booker,
+                    Status.APPROVED));
+            bookingPointerService.refresh(item.getId());
+            commentRepository.save(new Comment(null, "Comment" + i, item, booker,
+                    LocalDateTime.now().minusDays(1)));
+        }
+    }
+
+}
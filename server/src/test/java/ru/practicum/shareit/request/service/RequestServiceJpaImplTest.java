@@ -6,13 +6,17 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.exception.RequestNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.repository.ItemJpaRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.RequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -28,6 +32,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,8 +47,8 @@ class RequestServiceJpaImplTest {
     @Mock
     private UserJpaRepository userRepository;
 
-    @Mock
-    private Validator validator;
+    @Spy
+    private Validator validator = new Validator();
 
     private User expectedUser = User.builder()
             .id(1)
@@ -74,7 +79,6 @@ class RequestServiceJpaImplTest {
                         .ofPattern("yyyy-MM-dd'T'HH:mm:ss"))))
                 .build();
 
-        when(validator.validateUser(expectedUser.getId(), userRepository)).thenReturn(true);
         when(userRepository.findById(expectedUser.getId())).thenReturn(Optional.of(expectedUser));
         when(requestRepository.save(expectedRequest)).thenReturn(expectedRequest);
 
@@ -93,7 +97,7 @@ class RequestServiceJpaImplTest {
                 .description("     ")
                 .build();
 
-        when(validator.validateUser(expectedUser.getId(), userRepository)).thenReturn(true);
+        when(userRepository.findById(expectedUser.getId())).thenReturn(Optional.of(expectedUser));
 
         assertThrows(ValidationException.class,
                 () -> requestService.createRequest(expectedUser.getId(), itemRequest));
@@ -106,7 +110,7 @@ class RequestServiceJpaImplTest {
                 .description("Description")
                 .build();
 
-        when(validator.validateUser(expectedUser.getId(), userRepository)).thenReturn(false);
+        when(userRepository.findById(expectedUser.getId())).thenReturn(Optional.empty());
 
         assertThrows(UserNotFoundException.class,
                 () -> requestService.createRequest(expectedUser.getId(), itemRequest));
@@ -116,19 +120,32 @@ class RequestServiceJpaImplTest {
     void getAllUserRequests_whenUserFound_thenReturnedUserRequests() {
         List<ItemRequest> expectedList = new ArrayList<>();
         expectedList.add(request);
+        ItemShortDto item = new ItemShortDto(1, "Name", "Description", true, request.getId());
 
-        when(validator.validateUser(expectedUser.getId(), userRepository)).thenReturn(true);
         doReturn(expectedList).when(requestRepository).findByUserId(expectedUser.getId());
+        when(itemRepository.findByRequestIdIn(List.of(request.getId()))).thenReturn(List.of(item));
 
         List<ItemRequestDto> actualRequests = requestService.getAllUserRequests(expectedUser.getId());
 
         assertEquals(1, actualRequests.size());
-        assertEquals(RequestMapper.itemRequestToItemRequestDto(request), actualRequests.get(0));
+        assertEquals(RequestMapper.itemRequestToItemRequestDto(request,
+                List.of(ItemMapper.itemShortDtoToItemDto(item, null))), actualRequests.get(0));
+        verify(userRepository, never()).existsById(expectedUser.getId());
+    }
+
+    @Test
+    void getAllUserRequests_whenNoRequests_thenReturnedEmptyList() {
+        when(userRepository.existsById(expectedUser.getId())).thenReturn(true);
+
+        List<ItemRequestDto> actualRequests = requestService.getAllUserRequests(expectedUser.getId());
+
+        assertTrue(actualRequests.isEmpty());
+        verify(itemRepository, never()).findByRequestIdIn(anyCollection());
     }
 
     @Test
     void getAllUserRequests_whenUserNotFound_thenUserNotFoundExceptionTrown() {
-        when(validator.validateUser(expectedUser.getId(), userRepository)).thenReturn(false);
+        when(userRepository.existsById(expectedUser.getId())).thenReturn(false);
 
         assertThrows(UserNotFoundException.class,
                 () -> requestService.getAllUserRequests(expectedUser.getId()));
@@ -137,7 +154,7 @@ class RequestServiceJpaImplTest {
     @Test
     void getAllRequests_thenReturnedUserRequests() {
        List<ItemRequestDto> expectedList = new ArrayList<>();
-       Pageable page = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "id"));
+       Pageable page = OffsetPageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "id"));
 
         when(requestRepository.findAllRequests(expectedUser.getId(), page)).thenReturn(new ArrayList<>());
 
@@ -146,6 +163,29 @@ class RequestServiceJpaImplTest {
         assertEquals(expectedList, actualList);
     }
 
+    @Test
+    void getAllRequests_whenItemsFound_thenItemsGroupedByRequest() {
+        ItemRequest otherRequest = ItemRequest.builder()
+                .id(2)
+                .description("Description2")
+                .user(expectedUser)
+                .created(LocalDateTime.of(2023, 4, 18, 12, 0))
+                .build();
+        ItemShortDto item1 = new ItemShortDto(1, "Name1", "Description1", true, 2);
+        ItemShortDto item2 = new ItemShortDto(2, "Name2", "Description2", true, 2);
+        Pageable page = OffsetPageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "id"));
+
+        when(requestRepository.findAllRequests(3, page)).thenReturn(List.of(otherRequest, request));
+        when(itemRepository.findByRequestIdIn(List.of(2, 1))).thenReturn(List.of(item1, item2));
+
+        List<ItemRequestDto> actualList = requestService.getAllRequests(3, 0, 20);
+
+        assertEquals(2, actualList.size());
+        assertEquals(List.of(ItemMapper.itemShortDtoToItemDto(item1, null),
+                ItemMapper.itemShortDtoToItemDto(item2, null)), actualList.get(0).getItems());
+        assertTrue(actualList.get(1).getItems().isEmpty());
+    }
+
     @Test
     void getAllRequests_whenFromOrSizeNotValid_thenValidationExceptionTrown() {
        int from = 0;
@@ -158,7 +198,7 @@ class RequestServiceJpaImplTest {
     @Test
     void findRequestById_whenFound_thenReturnedRequest() {
 
-       when(validator.validateUser(expectedUser.getId(), userRepository)).thenReturn(true);
+       when(userRepository.existsById(expectedUser.getId())).thenReturn(true);
        when(requestRepository.findById(request.getId())).thenReturn(Optional.of(request));
 
        ItemRequestDto actualRequest = requestService.findRequestById(expectedUser.getId(), request.getId());
@@ -171,10 +211,22 @@ class RequestServiceJpaImplTest {
         int userId = 2;
         int requestId = 4;
 
-       when(validator.validateUser(userId, userRepository)).thenReturn(false);
+       when(userRepository.existsById(userId)).thenReturn(false);
 
         assertThrows(UserNotFoundException.class,
                 () -> requestService.findRequestById(userId, requestId));
     }
 
+    @Test
+    void findRequestById_whenRequestNotFound_thenRequestNotFoundExceptionTrown() {
+        int requestId = 4;
+
+        when(userRepository.existsById(expectedUser.getId())).thenReturn(true);
+        when(requestRepository.findById(requestId)).thenReturn(Optional.empty());
+
+        assertThrows(RequestNotFoundException.class,
+                () -> requestService.findRequestById(expectedUser.getId(), requestId));
+        verify(itemRepository, never()).findByRequestId(requestId);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package ru.practicum.shareit.request.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserJpaRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 10 000 запросов по 5 откликнувшихся вещей на каждый.
+ * Страница запросов загружается ровно двумя SQL запросами независимо от числа вещей.
+ */
+@Slf4j
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@DirtiesContext
+class RequestServiceQueryCountTest {
+
+    private static final int REQUESTERS = 100;
+
+    private static final int REQUESTS_PER_USER = 100;
+
+    private static final int ITEMS_PER_REQUEST = 5;
+
+    private static final int PAGE_SIZE = 100;
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private UserJpaRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private User viewer;
+
+    private User requester;
+
+    @BeforeAll
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        viewer = userRepository.save(new User(null, "request.viewer@mail.ru", "Viewer"));
+        User owner = userRepository.save(new User(null, "request.owner@mail.ru", "Owner"));
+        List<User> requesters = new ArrayList<>();
+        for (int i = 0; i < REQUESTERS; i++) {
+            requesters.add(userRepository.save(new User(null, "requester" + i + "@mail.ru", "Requester" + i)));
+        }
+        requester = requesters.get(0);
+
+        Timestamp created = Timestamp.valueOf(LocalDateTime.now().minusDays(1));
+        List<Object[]> requestRows = new ArrayList<>();
+        for (User user : requesters) {
+            for (int i = 0; i < REQUESTS_PER_USER; i++) {
+                requestRows.add(new Object[]{user.getId(), "Benchmark request " + i, created});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into requests (user_id, description, created) values (?, ?, ?)",
+                requestRows);
+
+        List<Integer> requestIds = jdbcTemplate.queryForList("select request_id from requests " +
+                "where description like 'Benchmark request %' order by request_id", Integer.class);
+        List<Object[]> itemRows = new ArrayList<>();
+        for (Integer requestId : requestIds) {
+            for (int i = 0; i < ITEMS_PER_REQUEST; i++) {
+                itemRows.add(new Object[]{"Item" + i, "Answer " + i + " to " + requestId, true, owner.getId(),
+                        requestId});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into items (name, description, available, owner_id, request_id) " +
+                "values (?, ?, ?, ?, ?)", itemRows);
+    }
+
+    @Test
+    void getAllRequests_whenAllPagesRead_thenTwoQueriesPerPage() {
+        int requests = 0;
+        int items = 0;
+        int pages = 0;
+        long startTime = System.nanoTime();
+        for (int from = 0; ; from += PAGE_SIZE) {
+            statistics.clear();
+            List<ItemRequestDto> page = requestService.getAllRequests(viewer.getId(), from, PAGE_SIZE);
+            if (page.isEmpty()) {
+                break;
+            }
+            assertEquals(2, statistics.getPrepareStatementCount(), "Страница с from = " + from);
+            pages++;
+            requests += page.size();
+            items += page.stream()
+                    .mapToInt(request -> request.getItems().size())
+                    .sum();
+        }
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+        log.info("Прочитано {} страниц, {} запросов, {} вещей за {} мс", pages, requests, items, elapsedMillis);
+        assertTrue(requests >= REQUESTERS * REQUESTS_PER_USER);
+        assertEquals(REQUESTERS * REQUESTS_PER_USER * ITEMS_PER_REQUEST, items);
+    }
+
+    @Test
+    void getAllUserRequests_thenTwoQueries() {
+        statistics.clear();
+        long startTime = System.nanoTime();
+        List<ItemRequestDto> requests = requestService.getAllUserRequests(requester.getId());
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+        log.info("Запросы пользователя: {} запросов за {} мс", requests.size(), elapsedMillis);
+        assertEquals(REQUESTS_PER_USER, requests.size());
+        requests.forEach(request -> assertEquals(ITEMS_PER_REQUEST, request.getItems().size()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+}
@@ -6,6 +6,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.server.ResponseStatusException;
 import ru.practicum.shareit.exception.UserNotFoundException;
@@ -14,6 +15,7 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserJpaRepository;
+import ru.practicum.shareit.validator.Validator;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -28,6 +30,9 @@ class UserServiceJpaImplTest {
     @Mock
     private UserJpaRepository userRepository;
 
+    @Spy
+    private Validator validator = new Validator();
+
     @InjectMocks
     private UserServiceJpaImpl userService;
 
@@ -49,19 +54,19 @@ class UserServiceJpaImplTest {
     void createUser_whenUserValid_thenSavedUser() {
         User userToSave = User.builder().name("Name").email("email@mail.ru").build();
 
-        when(userRepository.save(userToSave)).thenReturn(userToSave);
+        when(userRepository.saveAndFlush(userToSave)).thenReturn(userToSave);
 
         UserDto actualUser = userService.createUser(userToSave);
 
         assertEquals(UserMapper.userToUserDto(userToSave), actualUser);
-        verify(userRepository).save(userToSave);
+        verify(userRepository).saveAndFlush(userToSave);
     }
 
     @Test
     void createUser_whenUserNotValid_thenResponseStatusExceptionThrown() {
         User userToSave = User.builder().id(1).name("Name").email("email@mail.ru").build();
 
-        when(userRepository.save(userToSave)).thenThrow(RuntimeException.class);
+        when(userRepository.saveAndFlush(userToSave)).thenThrow(RuntimeException.class);
 
         assertThrows(ResponseStatusException.class,
                 () -> userService.createUser(userToSave));